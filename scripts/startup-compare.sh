@@ -0,0 +1,86 @@
+#!/usr/bin/env bash
+# Startup and first-request latency across JVM, CDS, AOT+CDS and native builds.
+#
+#   mvn -Paot -DskipTests package          # jar with AOT-generated initializers
+#   scripts/startup-compare.sh             # extracts, trains the CDS archive, measures
+#   mvn -Pnative -DskipTests native:compile && scripts/startup-compare.sh   # adds the native row
+#
+# "ready" is launch -> first answer from /actuator/health; "first" is the latency of the first
+# POST /auth/login afterwards (security chain, JPA, Jackson all cold). Each variant runs RUNS times.
+#
+# Env: EXTRA_CP (e.g. an H2 jar), APP_ARGS (e.g. --spring.datasource.url=...), PORT, RUNS, VARIANTS, TIMEOUT_MS
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-18080}
+RUNS=${RUNS:-3}
+TIMEOUT_MS=${TIMEOUT_MS:-300000}
+VARIANTS=${VARIANTS:-"jvm cds aot-cds native"}
+EXTRA_CP=${EXTRA_CP:-}
+APP_ARGS=${APP_ARGS:-}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+MAIN=com.example.authenticationService.AuthenticationServiceApplication
+
+JAR=$(ls target/authenticationService-*.jar | grep -v original | head -1)
+APP_DIR=target/application
+APP_JAR=$APP_DIR/$(basename "$JAR")
+NATIVE=target/authenticationService
+
+# Exploded Layout: CDS Only Works Against a Stable, Unpacked Classpath
+"$JAVA" -Djarmode=tools -jar "$JAR" extract --force --destination "$APP_DIR" > /dev/null
+CP=$APP_JAR${EXTRA_CP:+:$EXTRA_CP}
+ARGS="--server.port=$PORT --management.server.port=$PORT $APP_ARGS"
+
+has_aot() { [[ $(unzip -Z1 "$JAR") == *__BeanFactoryRegistrations* ]]; }
+
+train() { # $1 = archive, rest = extra JVM flags
+    local archive=$1; shift
+    # shellcheck disable=SC2086
+    "$JAVA" -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh "$@" -cp "$CP" $MAIN $ARGS > /dev/null 2>&1
+}
+
+now_ms() { date +%s%3N; }
+
+measure() { # rest = command line; prints "ready_ms first_ms"
+    local start pid ready first
+    start=$(now_ms)
+    "$@" > target/startup-compare.log 2>&1 &
+    pid=$!
+    # Any HTTP Answer Counts: a DOWN Dependency (503) Still Means the App is Serving
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health")" != 000 ]; do
+        if ! kill -0 $pid 2> /dev/null || [ $(( $(now_ms) - start )) -gt "$TIMEOUT_MS" ]; then
+            kill $pid 2> /dev/null || true
+            echo "startup failed, see target/startup-compare.log" >&2; exit 1
+        fi
+        sleep 0.02
+    done
+    ready=$(( $(now_ms) - start ))
+    first=$(curl -s -o /dev/null -w '%{time_total}' -H 'Content-Type: application/json' \
+        -d '{"username":"nobody","password":"wrong-password"}' "http://localhost:$PORT/auth/login")
+    kill $pid; wait $pid 2> /dev/null || true
+    echo "$ready $(awk -v t="$first" 'BEGIN { printf "%d", t * 1000 }')"
+}
+
+printf '%-8s %10s %10s\n' variant ready_ms first_ms
+for variant in $VARIANTS; do
+    # shellcheck disable=SC2086
+    case $variant in
+        jvm)     cmd=("$JAVA" -cp "$CP" $MAIN $ARGS) ;;
+        cds)     train "$APP_DIR/application.jsa"
+                 cmd=("$JAVA" -XX:SharedArchiveFile="$APP_DIR/application.jsa" -cp "$CP" $MAIN $ARGS) ;;
+        aot-cds) has_aot || { echo "aot-cds: jar not built with -Paot, skipped"; continue; }
+                 train "$APP_DIR/application-aot.jsa" -Dspring.aot.enabled=true
+                 cmd=("$JAVA" -XX:SharedArchiveFile="$APP_DIR/application-aot.jsa" -Dspring.aot.enabled=true -cp "$CP" $MAIN $ARGS) ;;
+        native)  [ -x "$NATIVE" ] || { echo "native: $NATIVE not found (mvn -Pnative native:compile), skipped"; continue; }
+                 cmd=("$NATIVE" $ARGS) ;;
+        *)       echo "unknown variant $variant" >&2; exit 1 ;;
+    esac
+
+    ready_sum=0; first_sum=0
+    for _ in $(seq "$RUNS"); do
+        read -r ready first < <(measure "${cmd[@]}")
+        ready_sum=$((ready_sum + ready)); first_sum=$((first_sum + first))
+    done
+    printf '%-8s %10d %10d\n' "$variant" $((ready_sum / RUNS)) $((first_sum / RUNS))
+done
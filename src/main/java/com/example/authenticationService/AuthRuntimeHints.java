@@ -0,0 +1,86 @@
+package com.example.authenticationService;
+
+import com.example.authenticationService.dto.AdminUserView;
+import com.example.authenticationService.dto.UserImportRow;
+import com.example.authenticationService.model.OtpPurpose;
+import com.example.authenticationService.model.OtpToken;
+import com.example.authenticationService.model.RefreshToken;
+import com.example.authenticationService.model.RevokedToken;
+import com.example.authenticationService.model.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+// Reflection/resource hints for the AOT and native-image builds (-Paot, -Pnative).
+// Spring derives hints for beans and controller payloads itself; these cover what it can't see:
+// JJWT's reflective impl lookup, Hibernate field access on the Lombok entities, and the
+// mail providers/handlers Jakarta Mail instantiates by class name.
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(AuthRuntimeHints.class)
+// Read/Written by ObjectMapper Directly, Not Through a Controller Signature
+@RegisterReflectionForBinding({UserImportRow.class, AdminUserView.class})
+public class AuthRuntimeHints implements RuntimeHintsRegistrar {
+
+    // jjwt-api loads these by name (Classes.newInstance / invokeStatic); impl and jackson are runtime-only
+    private static final List<String> JJWT_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.impl.crypto.MacProvider",
+            "io.jsonwebtoken.impl.crypto.RsaProvider",
+            "io.jsonwebtoken.impl.crypto.EllipticCurveProvider",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    // Transports come from META-INF/javamail.providers, content handlers from META-INF/mailcap
+    private static final List<String> MAIL_TYPES = List.of(
+            "org.eclipse.angus.mail.smtp.SMTPTransport",
+            "org.eclipse.angus.mail.smtp.SMTPSSLTransport",
+            "org.eclipse.angus.mail.handlers.text_plain",
+            "org.eclipse.angus.mail.handlers.text_html",
+            "org.eclipse.angus.mail.handlers.text_xml",
+            "org.eclipse.angus.mail.handlers.multipart_mixed",
+            "org.eclipse.angus.mail.handlers.message_rfc822"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        // Field Access (@Id on Fields) Plus the No-Arg Constructor and Accessors Lombok Generates
+        for (Class<?> entity : List.of(User.class, OtpToken.class, RefreshToken.class, RevokedToken.class)) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        for (Class<?> enumType : List.of(User.UserStatus.class, OtpPurpose.class)) {
+            hints.reflection().registerType(enumType, MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.PUBLIC_FIELDS);
+        }
+
+        for (String type : MAIL_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        hints.resources()
+                .registerPattern("META-INF/javamail.*")
+                .registerPattern("META-INF/mailcap")
+                .registerPattern("META-INF/mime.types");
+    }
+}
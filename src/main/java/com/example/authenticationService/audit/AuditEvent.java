@@ -0,0 +1,65 @@
+package com.example.authenticationService.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Instant;
+
+// One audit record. On disk it is a single NDJSON line:
+// {"ts":"2026-01-01T00:00:00Z","type":"LOGIN","user":"alice","ip":"10.0.0.1","outcome":"SUCCESS"}
+public record AuditEvent(Instant timestamp, Type type, String username, String remoteAddress, String outcome) {
+
+    public enum Type { SIGNUP, LOGIN, OTP_VERIFY, OTP_RESEND, TWO_FACTOR }
+
+    // Caps Caller-Controlled Text so Every Record Fits a Segment
+    static final int MAX_FIELD_LENGTH = 256;
+
+    // Hand-written so the writer thread doesn't go through ObjectMapper per event.
+    // Control characters are escaped, so an encoded line never contains '\n' or a NUL byte.
+    public String toJsonLine() {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append("{\"ts\":\"").append(timestamp).append("\",\"type\":\"").append(type.name()).append('"');
+        appendField(sb, "user", username);
+        appendField(sb, "ip", remoteAddress);
+        appendField(sb, "outcome", outcome);
+        return sb.append("}\n").toString();
+    }
+
+    public static AuditEvent fromJson(JsonNode node) {
+        return new AuditEvent(
+                Instant.parse(node.path("ts").asText()),
+                Type.valueOf(node.path("type").asText()),
+                textOrNull(node, "user"),
+                textOrNull(node, "ip"),
+                textOrNull(node, "outcome"));
+    }
+
+    private static void appendField(StringBuilder sb, String key, String value) {
+        if (value == null) return;
+        sb.append(",\"").append(key).append("\":\"");
+
+        int len = Math.min(value.length(), MAX_FIELD_LENGTH);
+        // Don't Cut a Surrogate Pair in Half
+        if (len < value.length() && Character.isHighSurrogate(value.charAt(len - 1))) len--;
+
+        for (int i = 0; i < len; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    private static String textOrNull(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
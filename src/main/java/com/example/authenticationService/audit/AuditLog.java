@@ -0,0 +1,156 @@
+package com.example.authenticationService.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Audit trail of auth events without touching the database: request threads drop events into a
+// fixed-size ring (no locks, no waiting) and one writer thread appends them as NDJSON to rolling
+// memory-mapped segments. A full ring drops the event and counts it rather than slow a login.
+// Loss is bounded: a JVM crash loses what is still in the ring, an OS crash also the writes since
+// the last force (audit.force-interval). Read with AuditLogReader.
+@Component
+public class AuditLog {
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentBytes;
+    private final long forceIntervalNanos;
+    private final AuditRingBuffer<AuditEvent> ring;
+
+    private MappedAuditSink sink;
+    private Thread writer;
+    private volatile boolean running;
+    // Set While the Writer is Parked on an Empty Ring, so Producers Know to Wake it
+    private volatile boolean writerIdle;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long written;
+    private volatile long writeFailures;
+
+    public AuditLog(@Value("${audit.enabled:true}") boolean enabled,
+                    @Value("${audit.dir:audit}") String directory,
+                    @Value("${audit.ring-size:8192}") int ringSize,
+                    @Value("${audit.segment-size:64MB}") DataSize segmentSize,
+                    @Value("${audit.force-interval:PT1S}") Duration forceInterval) {
+        if (segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("audit.segment-size must be under 2GB (one mapping per segment)");
+        }
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentBytes = (int) segmentSize.toBytes();
+        this.forceIntervalNanos = forceInterval.toNanos();
+        this.ring = new AuditRingBuffer<>(ringSize);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) return;
+        sink = new MappedAuditSink(directory, segmentBytes);
+        running = true;
+        writer = Thread.ofPlatform().name("audit-writer").daemon(true).start(this::writeLoop);
+        log.info("Audit log writing to {}", sink.currentSegment().toAbsolutePath());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) return;
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (ring.size() > 0) {
+            log.warn("Audit log stopped with {} unwritten event(s)", ring.size());
+        }
+    }
+
+    // Request threads; never blocks. The client address comes from the current request, if any.
+    public void record(AuditEvent.Type type, String username, String outcome) {
+        if (!enabled) return;
+        AuditEvent event = new AuditEvent(Instant.now(), type, username, currentRemoteAddress(), outcome);
+        if (!ring.offer(event)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        published.incrementAndGet();
+        if (writerIdle) LockSupport.unpark(writer);
+    }
+
+    private void writeLoop() {
+        long lastForce = System.nanoTime();
+        long unforced = 0;
+        while (running || ring.size() > 0) {
+            AuditEvent event = ring.poll();
+            if (event != null) {
+                append(event);
+                unforced++;
+            } else {
+                writerIdle = true;
+                // Re-Check After Announcing: a Producer That Missed the Flag Already Published
+                if (ring.size() == 0 && running) {
+                    LockSupport.parkNanos(forceIntervalNanos);
+                }
+                writerIdle = false;
+            }
+
+            if (unforced > 0 && System.nanoTime() - lastForce >= forceIntervalNanos) {
+                sink.force();
+                unforced = 0;
+                lastForce = System.nanoTime();
+            }
+        }
+
+        try {
+            sink.close();
+        } catch (IOException e) {
+            log.error("Failed to close audit segment {}", sink.currentSegment(), e);
+        }
+    }
+
+    private void append(AuditEvent event) {
+        try {
+            sink.append(event.toJsonLine().getBytes(StandardCharsets.UTF_8));
+            written++;
+        } catch (IOException | RuntimeException e) {
+            // Disk Full or Similar: Keep Draining so Producers Never Back Up Behind Us
+            if (writeFailures++ == 0) {
+                log.error("Audit write failed; further failures are only counted", e);
+            }
+        }
+    }
+
+    private static String currentRemoteAddress() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            HttpServletRequest request = servlet.getRequest();
+            return request.getRemoteAddr();
+        }
+        return null;
+    }
+
+    public int getRingDepth() { return ring.size(); }
+    public int getRingCapacity() { return ring.capacity(); }
+    public long getPublishedCount() { return published.get(); }
+    public long getDroppedCount() { return dropped.get(); }
+    public long getWrittenCount() { return written; }
+    public long getWriteFailureCount() { return writeFailures; }
+    public long getSegmentCount() { return sink == null ? 0 : sink.getSegmentCount(); }
+}
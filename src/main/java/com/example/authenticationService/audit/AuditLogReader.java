@@ -0,0 +1,187 @@
+package com.example.authenticationService.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// Streams audit segments in write order and prints the matching NDJSON lines (pipe into jq etc.).
+// Safe on the live segment: it stops at the first zero byte (unwritten space) and skips a
+// trailing partial line, and --follow keeps polling for new records and new segments.
+//
+//   java -cp target/application/authenticationService-0.0.1-SNAPSHOT.jar \
+//       com.example.authenticationService.audit.AuditLogReader --dir audit --type LOGIN --outcome INVALID --since PT1H
+//
+// Options: --dir, --type, --outcome, --user, --ip, --since/--until (ISO instant or a duration back from now), --follow
+public final class AuditLogReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long FOLLOW_POLL_MS = 500;
+
+    public record Filter(AuditEvent.Type type, String outcome, String username, String remoteAddress,
+                         Instant since, Instant until) implements Predicate<AuditEvent> {
+
+        public static final Filter ALL = new Filter(null, null, null, null, null, null);
+
+        @Override
+        public boolean test(AuditEvent e) {
+            return (type == null || type == e.type())
+                    && (outcome == null || outcome.equalsIgnoreCase(e.outcome()))
+                    && (username == null || username.equals(e.username()))
+                    && (remoteAddress == null || remoteAddress.equals(e.remoteAddress()))
+                    && (since == null || !e.timestamp().isBefore(since))
+                    && (until == null || e.timestamp().isBefore(until));
+        }
+    }
+
+    private AuditLogReader() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Path.of("audit");
+        AuditEvent.Type type = null;
+        String outcome = null, user = null, ip = null;
+        Instant since = null, until = null;
+        boolean follow = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--follow")) {
+                follow = true;
+                continue;
+            }
+            if (i + 1 >= args.length) usage("Missing value for " + arg);
+            String value = args[++i];
+            switch (arg) {
+                case "--dir" -> dir = Path.of(value);
+                case "--type" -> type = AuditEvent.Type.valueOf(value.toUpperCase());
+                case "--outcome" -> outcome = value;
+                case "--user" -> user = value;
+                case "--ip" -> ip = value;
+                case "--since" -> since = parseTime(value);
+                case "--until" -> until = parseTime(value);
+                default -> usage("Unknown option " + arg);
+            }
+        }
+
+        Filter filter = new Filter(type, outcome, user, ip, since, until);
+        PrintStream out = new PrintStream(System.out, false, StandardCharsets.UTF_8);
+        Consumer<String> printer = line -> {
+            if (filter.test(parse(line))) out.println(line);
+        };
+
+        if (follow) {
+            follow(dir, printer, out);
+        } else {
+            for (Path segment : segments(dir)) {
+                scan(segment, 0, printer);
+            }
+            out.flush();
+        }
+    }
+
+    // Every event in the directory that matches, in write order
+    public static List<AuditEvent> read(Path dir, Predicate<AuditEvent> filter) throws IOException {
+        List<AuditEvent> events = new ArrayList<>();
+        for (Path segment : segments(dir)) {
+            scan(segment, 0, line -> {
+                AuditEvent event = parse(line);
+                if (filter.test(event)) events.add(event);
+            });
+        }
+        return events;
+    }
+
+    public static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(MappedAuditSink.PREFIX) && name.endsWith(MappedAuditSink.SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // Emits each complete line from the offset on, stopping at a zero byte or EOF.
+    // Returns the offset just past the last complete line, where a later scan can resume.
+    static long scan(Path segment, long offset, Consumer<String> lines) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            channel.position(offset);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024);
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            long consumed = offset;
+            int b;
+            while ((b = in.read()) > 0) {
+                if (b == '\n') {
+                    consumed += line.size() + 1;
+                    if (line.size() > 0) lines.accept(line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                } else {
+                    line.write(b);
+                }
+            }
+            return consumed;
+        }
+    }
+
+    private static void follow(Path dir, Consumer<String> printer, PrintStream out) throws IOException, InterruptedException {
+        Path current = null;
+        long offset = 0;
+        while (true) {
+            List<Path> all = segments(dir);
+            // Finish the Segment We're on, Then Move Through Any Newer Ones
+            for (Path segment : all) {
+                if (current != null && segment.compareTo(current) < 0) continue;
+                if (!segment.equals(current)) {
+                    current = segment;
+                    offset = 0;
+                }
+                offset = scan(segment, offset, printer);
+            }
+            out.flush();
+            Thread.sleep(FOLLOW_POLL_MS);
+        }
+    }
+
+    private static AuditEvent parse(String line) {
+        try {
+            return AuditEvent.fromJson(MAPPER.readTree(line));
+        } catch (IOException e) {
+            throw new IllegalStateException("Malformed audit record: " + line, e);
+        }
+    }
+
+    private static Instant parseTime(String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            return Instant.now().minus(Duration.parse(value));
+        }
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: AuditLogReader [--dir DIR] [--type SIGNUP|LOGIN|OTP_VERIFY|OTP_RESEND|TWO_FACTOR] [--outcome X]"
+                + " [--user NAME] [--ip ADDR] [--since ISO|DURATION] [--until ISO|DURATION] [--follow]");
+        System.exit(2);
+    }
+}
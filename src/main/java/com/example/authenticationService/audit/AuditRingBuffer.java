@@ -0,0 +1,73 @@
+package com.example.authenticationService.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Fixed-size multi-producer / single-consumer ring (Vyukov's bounded queue).
+// Each slot carries a sequence number: producers claim a position with one CAS on the tail and
+// publish by advancing the slot's sequence; a full ring fails the offer instead of waiting.
+final class AuditRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Consumer-Only; Volatile so size() From Other Threads Stays Sane
+    private volatile long head;
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    // Any thread; never blocks. False means the ring is full and the item was not taken.
+    boolean offer(T item) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, item);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                // Another Producer Took This Slot; Reload
+                pos = tail.get();
+            }
+        }
+    }
+
+    // Consumer thread only. Null if nothing is published at the head yet.
+    T poll() {
+        long pos = head;
+        int index = (int) (pos & mask);
+        if (sequences.get(index) != pos + 1) return null;
+        T item = slots.get(index);
+        slots.lazySet(index, null);
+        // Free the Slot for the Producer One Lap Ahead
+        sequences.set(index, pos + mask + 1);
+        head = pos + 1;
+        return item;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+}
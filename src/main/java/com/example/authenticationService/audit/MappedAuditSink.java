@@ -0,0 +1,97 @@
+package com.example.authenticationService.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Append-only segments, each a pre-sized file mapped once: an append is a memory copy into the
+// page cache, which the kernel keeps even if the JVM dies. Only an OS crash can lose what was
+// written since the last force(). Unwritten space is zeros, which readers treat as end-of-data.
+// Segments are named audit-<epoch millis>.ndjson, so name order is write order.
+final class MappedAuditSink implements Closeable {
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".ndjson";
+
+    private final Path directory;
+    private final int segmentBytes;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private Path current;
+    private long segmentCount;
+
+    MappedAuditSink(Path directory, int segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        roll();
+    }
+
+    // Writer thread only
+    void append(byte[] record) throws IOException {
+        if (record.length > buffer.remaining()) {
+            if (record.length > segmentBytes) {
+                throw new IOException("Audit record of " + record.length + " bytes exceeds the segment size");
+            }
+            roll();
+        }
+        buffer.put(record);
+    }
+
+    void force() {
+        if (buffer != null) buffer.force();
+    }
+
+    Path currentSegment() {
+        return current;
+    }
+
+    long getSegmentCount() {
+        return segmentCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finishSegment();
+    }
+
+    private void roll() throws IOException {
+        finishSegment();
+
+        long stamp = System.currentTimeMillis();
+        while (true) {
+            Path next = directory.resolve(PREFIX + stamp + SUFFIX);
+            try {
+                channel = FileChannel.open(next, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                current = next;
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // Rolled Twice Within a Millisecond, or a Clock Step Back: Take the Next Free Name
+                stamp++;
+            }
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segmentCount++;
+    }
+
+    // Flush, then cut the zero tail so finished segments hold only records.
+    // Truncating under a live mapping is refused on some platforms; the padding is harmless there.
+    private void finishSegment() throws IOException {
+        if (channel == null) return;
+        buffer.force();
+        int written = buffer.position();
+        buffer = null;
+        try {
+            channel.truncate(written);
+        } catch (IOException ignored) {
+        }
+        channel.close();
+        channel = null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.authenticationService.controller;
+
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.service.UserAdminService;
+import com.example.authenticationService.service.UserAdminService.ExportFormat;
+import com.example.authenticationService.service.UserAdminService.Filter;
+import com.example.authenticationService.service.UserImportService;
+import com.example.authenticationService.service.UserImportService.Format;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+// Admin-only (see WebSecurityConfig: security.admin.usernames)
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final UserImportService userImportService;
+
+    private final UserAdminService userAdminService;
+
+    //-----------------------------LISTING-----------------------------//
+
+    // Keyset Pagination: Pass the Returned nextAfter as `after` for the Next Page
+    @GetMapping("/users")
+    public UserAdminService.Page listUsers(@RequestParam(defaultValue = "0") long after,
+                                           @RequestParam(defaultValue = "100") int limit,
+                                           @RequestParam(required = false) User.UserStatus status,
+                                           @RequestParam(required = false) Boolean verified,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant verifiedAfter,
+                                           @RequestParam(required = false) String q) {
+        return userAdminService.list(new Filter(status, verified, verifiedAfter, q), after, limit);
+    }
+
+    // Whole Filtered Table, Streamed Row by Row (NDJSON or CSV)
+    @GetMapping("/users/export")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                            @RequestParam(required = false) User.UserStatus status,
+                            @RequestParam(required = false) Boolean verified,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant verifiedAfter,
+                            @RequestParam(required = false) String q,
+                            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = "csv".equalsIgnoreCase(format) ? ExportFormat.CSV : ExportFormat.NDJSON;
+
+        response.setContentType(exportFormat == ExportFormat.CSV ? "text/csv" : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=users." + (exportFormat == ExportFormat.CSV ? "csv" : "ndjson"));
+
+        userAdminService.export(new Filter(status, verified, verifiedAfter, q), exportFormat, response.getOutputStream());
+    }
+
+    //-----------------------------BULK IMPORT-----------------------------//
+
+    // Body is NDJSON (one user object per line) or CSV with a header row; the response streams
+    // one NDJSON line per rejected row, then a summary line
+    @PostMapping(value = "/users/import", consumes = {"application/x-ndjson", "text/csv"})
+    public void importUsers(@RequestParam(defaultValue = "false") boolean sendOtp,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? Format.CSV
+                : Format.NDJSON;
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        userImportService.importUsers(in, format, sendOtp, response.getOutputStream());
+    }
+}
@@ -1,10 +1,25 @@
 package com.example.authenticationService.controller;
 
+import com.example.authenticationService.audit.AuditEvent;
+import com.example.authenticationService.audit.AuditLog;
+import com.example.authenticationService.datasource.ReadYourWrites;
 import com.example.authenticationService.dto.*;
+import com.example.authenticationService.metrics.AuthMetrics;
+import com.example.authenticationService.metrics.AuthMetrics.LoginOutcome;
 import com.example.authenticationService.model.User;
 import com.example.authenticationService.repository.UserRepository;
 import com.example.authenticationService.security.JwtTokenProvider;
+import com.example.authenticationService.security.LoginRateLimiter;
+import com.example.authenticationService.security.TotpVerifier;
+import com.example.authenticationService.service.AuthService;
 import com.example.authenticationService.service.OtpService;
+import com.example.authenticationService.service.PasswordHashingService;
+import com.example.authenticationService.service.RefreshTokenService;
+import com.example.authenticationService.service.RefreshTokenService.TokenPair;
+import com.example.authenticationService.service.TokenRevocationService;
+import com.example.authenticationService.service.TwoFactorService;
+import com.example.authenticationService.service.UserProfileCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
@@ -13,12 +28,13 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -26,8 +42,6 @@ import org.springframework.web.server.ResponseStatusException;
 import java.util.Map;
 import java.util.Optional;
 
-import static com.example.authenticationService.security.JwtTokenProvider.generateToken;
-
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -35,40 +49,56 @@ public class AuthController {
 
     private final UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     private final JwtTokenProvider jwtTokenProvider;
 
     private final OtpService otpService;
 
+    private final AuthService authService;
+
+    private final LoginRateLimiter loginRateLimiter;
+
+    private final AuthMetrics metrics;
+
+    private final UserProfileCache userProfileCache;
+
+    private final RefreshTokenService refreshTokenService;
+
+    private final TokenRevocationService revocationService;
+
+    private final ReadYourWrites readYourWrites;
+
+    private final AuditLog auditLog;
+
+    private final TwoFactorService twoFactorService;
+
     //-----------------------------SIGN-UP-----------------------------//
 
     //Sign-Up
     @PostMapping("/signup")
     public ResponseEntity<AuthorizationResponse> signup(@Validated @RequestBody SignupRequest request) {
 
-        // Duplicate Checker
-        if (userRepository.existsByUsername(request.getUsername())) {
-            AuthorizationResponse response = new AuthorizationResponse("Username Already Exists");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            AuthorizationResponse response = new AuthorizationResponse("Email Already Exists");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
-        }
-
         // Create User
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         user.setStatus(User.UserStatus.PENDING);
 
-        userRepository.save(user);
-
-        otpService.createAndSendSignupOtp(user);
+        // User + OTP in One Transaction; Duplicate Checker is the Unique Constraint
+        try {
+            authService.register(user);
+        } catch (DataIntegrityViolationException e) {
+            AuthorizationResponse response = new AuthorizationResponse(authService.duplicateMessage(e, user));
+            auditLog.record(AuditEvent.Type.SIGNUP, user.getUsername(), "CONFLICT");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        // Follow-Up Requests (Verify, Resend, Login) Must See the New Row Before Replicas Do
+        readYourWrites.markWritten(user.getUsername(), user.getEmail());
+        auditLog.record(AuditEvent.Type.SIGNUP, user.getUsername(), "CREATED");
 
         AuthorizationResponse response = new AuthorizationResponse("User Registered. Verification Email Sent!");
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -76,27 +106,35 @@ public class AuthController {
 
     @PostMapping("/verify-otp")
     public ResponseEntity<AuthorizationResponse> verifyOtp(@Validated @RequestBody VerifyOtpRequest req) {
-        User email = userRepository.findByEmail(req.getEmail())
+        User email = readYourWrites.read(req.getEmail(), () -> userRepository.findByEmail(req.getEmail()))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Email not found"));
 
         if (email.getStatus() == User.UserStatus.ACTIVE) {
+            auditLog.record(AuditEvent.Type.OTP_VERIFY, email.getUsername(), "ALREADY_VERIFIED");
             return ResponseEntity.ok(new AuthorizationResponse("Already verified."));
         }
 
         otpService.verifySignupOtp(email, req.getCode());
+        readYourWrites.markWritten(email.getUsername(), email.getEmail());
         return ResponseEntity.ok(new AuthorizationResponse("Email verified. Account activated."));
     }
 
     @PostMapping("/resend-otp")
     public ResponseEntity<AuthorizationResponse> resendOtp(@Validated @RequestBody ResendOtpRequest req) {
-        User user = userRepository.findByEmail(req.getEmail())
+        User user = readYourWrites.read(req.getEmail(), () -> userRepository.findByEmail(req.getEmail()))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User Not Found"));
 
         if (user.getStatus() == User.UserStatus.ACTIVE) {
+            auditLog.record(AuditEvent.Type.OTP_RESEND, user.getUsername(), "ALREADY_VERIFIED");
             return ResponseEntity.badRequest().body(new AuthorizationResponse("User is Already Verified."));
         }
 
-        otpService.resendSignupOtp(user);
+        long retryAfter = otpService.resendSignupOtp(user);
+        if (retryAfter > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(new AuthorizationResponse("Please Wait Before Requesting Another Code."));
+        }
         return ResponseEntity.ok(new AuthorizationResponse("Verification Code Re-Sent."));
     }
 
@@ -105,11 +143,24 @@ public class AuthController {
 
     // Login Endpoint
     @PostMapping("/login")
-    public ResponseEntity<AuthorizationResponse> login(@Validated @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthorizationResponse> login(@Validated @RequestBody LoginRequest request,
+                                                       HttpServletRequest httpRequest) {
         final String invalidMsg = "Invalid Username or Password";
 
-        Optional<User> userOpt = userRepository.findByUsername(request.getUsername());
+        // Throttle Before Any DB Lookup or Hash Work
+        long retryAfter = loginRateLimiter.tryAcquire(request.getUsername(), httpRequest.getRemoteAddr());
+        if (retryAfter > 0) {
+            loginOutcome(request.getUsername(), LoginOutcome.THROTTLED);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(new AuthorizationResponse("Too Many Login Attempts. Try Again Later."));
+        }
+
+        Optional<User> userOpt = readYourWrites.read(request.getUsername(),
+                () -> userRepository.findByUsername(request.getUsername()));
         if (userOpt.isEmpty()) {
+            loginRateLimiter.recordFailure(request.getUsername(), httpRequest.getRemoteAddr());
+            loginOutcome(request.getUsername(), LoginOutcome.INVALID);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new AuthorizationResponse(invalidMsg));
         }
@@ -117,24 +168,100 @@ public class AuthController {
         User user = userOpt.get();
 
         // Wrong Password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            loginRateLimiter.recordFailure(request.getUsername(), httpRequest.getRemoteAddr());
+            loginOutcome(request.getUsername(), LoginOutcome.INVALID);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new AuthorizationResponse(invalidMsg));
         }
 
         //Forbid Users That Ain't Active
         if (user.getStatus() == User.UserStatus.SUSPENDED) {
+            loginOutcome(request.getUsername(), LoginOutcome.SUSPENDED);
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(new AuthorizationResponse("Account is Suspended"));
         }
         if (user.getStatus() == User.UserStatus.PENDING) {
+            loginOutcome(request.getUsername(), LoginOutcome.PENDING);
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(new AuthorizationResponse("Account is not yet activated"));
         }
 
-        // Success
-        String token = generateToken(user.getUsername());
-        return ResponseEntity.ok(new AuthorizationResponse("Login Successful", token));
+        // Transparent Rehash: Stored Hash Uses an Outdated Algorithm or Cost. Targets the Column Alone,
+        // so a Possibly Stale `user` (Replica Read) Never Writes Back its Other Fields
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            userRepository.replacePasswordHash(user.getId(), user.getPassword(),
+                    passwordHashingService.encode(request.getPassword()));
+        }
+
+        // Second Factor Enrolled: no Tokens Yet, Only a Short-Lived Challenge for /auth/login/2fa
+        if (user.isTwoFactorEnabled()) {
+            loginOutcome(request.getUsername(), LoginOutcome.TWO_FACTOR_REQUIRED);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(AuthorizationResponse.challenge("Two-Factor Code Required", twoFactorService.challenge(user)));
+        }
+
+        // Success; With a Second Factor Only the Verified Code Clears the Failures
+        loginRateLimiter.recordSuccess(request.getUsername(), httpRequest.getRemoteAddr());
+        return loginSucceeded(user);
+    }
+
+    // Second Step: the Challenge From /login Plus the Current Authenticator Code; One Try per Challenge
+    @PostMapping("/login/2fa")
+    public ResponseEntity<AuthorizationResponse> loginTwoFactor(@Validated @RequestBody TwoFactorLoginRequest request,
+                                                                HttpServletRequest httpRequest) {
+        Optional<String> subject = twoFactorService.redeemChallenge(request.getChallengeToken());
+        if (subject.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new AuthorizationResponse("Invalid or Expired Challenge"));
+        }
+        String username = subject.get();
+
+        // Code Guesses Draw on the Same Per-User Budget and Lockout as Password Guesses
+        long retryAfter = loginRateLimiter.tryAcquire(username, httpRequest.getRemoteAddr());
+        if (retryAfter > 0) {
+            loginOutcome(username, LoginOutcome.THROTTLED);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(new AuthorizationResponse("Too Many Login Attempts. Try Again Later."));
+        }
+
+        Optional<User> active = readYourWrites.read(username, () -> userRepository.findByUsername(username))
+                .filter(u -> u.getStatus() == User.UserStatus.ACTIVE);
+        if (active.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new AuthorizationResponse("Account is not Active"));
+        }
+        User user = active.get();
+
+        if (twoFactorService.verify(user, request.getCode()) != TotpVerifier.Outcome.VERIFIED) {
+            loginRateLimiter.recordFailure(username, httpRequest.getRemoteAddr());
+            loginOutcome(username, LoginOutcome.INVALID);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new AuthorizationResponse("Invalid Code"));
+        }
+        loginRateLimiter.recordSuccess(username, httpRequest.getRemoteAddr());
+
+        return loginSucceeded(user);
+    }
+
+    private ResponseEntity<AuthorizationResponse> loginSucceeded(User user) {
+        TokenPair tokens = refreshTokenService.issue(user);
+        loginOutcome(user.getUsername(), LoginOutcome.SUCCESS);
+        return ResponseEntity.ok(new AuthorizationResponse("Login Successful", tokens.accessToken(), tokens.refreshToken()));
+    }
+
+    // Metrics and Audit Trail Share the Outcome
+    private void loginOutcome(String username, LoginOutcome outcome) {
+        metrics.login(outcome);
+        auditLog.record(AuditEvent.Type.LOGIN, username, outcome.name());
+    }
+
+    // Refresh: Rotates the Refresh Token; Replaying a Spent One Revokes its Whole Family
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthorizationResponse> refresh(@Validated @RequestBody RefreshRequest request) {
+        TokenPair tokens = refreshTokenService.rotate(request.getRefreshToken());
+        return ResponseEntity.ok(new AuthorizationResponse("Token Refreshed", tokens.accessToken(), tokens.refreshToken()));
     }
 
     //Authenticated User Endpoint to Return Username, Email, First Name, and Last Name
@@ -142,22 +269,45 @@ public class AuthController {
     public ResponseEntity<?> getCurrentUser(Authentication authentication) {
 
         String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
+
+        // Token Carries the Profile: No Lookup at All
+        if (authentication.getDetails() instanceof Claims claims && claims.get(JwtTokenProvider.CLAIM_EMAIL) != null) {
+            return ResponseEntity.ok(Map.of(
+                    "username", username,
+                    "email", claims.get(JwtTokenProvider.CLAIM_EMAIL, String.class),
+                    "firstName", claims.get(JwtTokenProvider.CLAIM_FIRST_NAME, String.class),
+                    "lastName", claims.get(JwtTokenProvider.CLAIM_LAST_NAME, String.class)
+            ));
+        }
+
+        UserProfile user = readYourWrites.read(username, () -> userProfileCache.get(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         //Return Username and Email
         return ResponseEntity.ok(Map.of(
-                "username", user.getUsername(),
-                "email", user.getEmail(),
-                "firstName", user.getFirstName(),
-                "lastName", user.getLastName()
+                "username", user.username(),
+                "email", user.email(),
+                "firstName", user.firstName(),
+                "lastName", user.lastName()
         ));
     }
 
     //Logout
-    @PostMapping("/auth/logout")
-    public ResponseEntity<String> logout(HttpServletRequest request) {
-        // Optional: you can clear the security context
+    @PostMapping({"/logout", "/auth/logout"})
+    public ResponseEntity<String> logout(HttpServletRequest request,
+                                         @RequestBody(required = false) RefreshRequest body) {
+        // Revoke the Presented Access Token Until it Expires
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            jwtTokenProvider.verify(authHeader.substring(7))
+                    .ifPresent(claims -> revocationService.revoke(claims.getId(), claims.getExpiration()));
+        }
+
+        // And the Refresh Token Family, so the Session Can't be Renewed
+        if (body != null && body.getRefreshToken() != null) {
+            refreshTokenService.revokeFamily(body.getRefreshToken());
+        }
+
         SecurityContextHolder.clearContext();
 
         // Client should remove the JWT
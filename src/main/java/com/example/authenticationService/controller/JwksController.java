@@ -0,0 +1,27 @@
+package com.example.authenticationService.controller;
+
+import com.example.authenticationService.security.JwtKeys;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+// Public verification keys so other services can check our tokens locally
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeys jwtKeys;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks() {
+        // Rendered once at startup; let clients and proxies cache it too
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwtKeys.getJwksJson());
+    }
+}
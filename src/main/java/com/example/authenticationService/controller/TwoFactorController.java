@@ -0,0 +1,75 @@
+package com.example.authenticationService.controller;
+
+import com.example.authenticationService.datasource.ReadYourWrites;
+import com.example.authenticationService.dto.AuthorizationResponse;
+import com.example.authenticationService.dto.TwoFactorCodeRequest;
+import com.example.authenticationService.dto.TwoFactorDisableRequest;
+import com.example.authenticationService.dto.TwoFactorSetupRequest;
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.repository.UserRepository;
+import com.example.authenticationService.service.TwoFactorService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+// TOTP Enrollment for the Signed-In User: setup (Password) -> Scan/Enter the Secret -> enable With a Code.
+// Every Step Draws on the Login Budget, so a Hijacked Session Can't Guess Its Way Through
+@RestController
+@RequestMapping("/auth/2fa")
+@RequiredArgsConstructor
+public class TwoFactorController {
+
+    private final UserRepository userRepository;
+
+    private final TwoFactorService twoFactorService;
+
+    @PostMapping("/setup")
+    public ResponseEntity<?> setup(@Validated @RequestBody TwoFactorSetupRequest request,
+                                   Authentication authentication, HttpServletRequest httpRequest) {
+        User user = currentUser(authentication);
+        long retryAfter = twoFactorService.tryAcquire(user, httpRequest.getRemoteAddr());
+        if (retryAfter > 0) return tooManyAttempts(retryAfter);
+
+        return ResponseEntity.ok(twoFactorService.setup(user, request.getPassword(), httpRequest.getRemoteAddr()));
+    }
+
+    @PostMapping("/enable")
+    public ResponseEntity<AuthorizationResponse> enable(@Validated @RequestBody TwoFactorCodeRequest request,
+                                                        Authentication authentication, HttpServletRequest httpRequest) {
+        User user = currentUser(authentication);
+        long retryAfter = twoFactorService.tryAcquire(user, httpRequest.getRemoteAddr());
+        if (retryAfter > 0) return tooManyAttempts(retryAfter);
+
+        twoFactorService.enable(user, request.getCode(), httpRequest.getRemoteAddr());
+        return ResponseEntity.ok(new AuthorizationResponse("Two-Factor Authentication Enabled"));
+    }
+
+    @PostMapping("/disable")
+    public ResponseEntity<AuthorizationResponse> disable(@Validated @RequestBody TwoFactorDisableRequest request,
+                                                         Authentication authentication, HttpServletRequest httpRequest) {
+        User user = currentUser(authentication);
+        long retryAfter = twoFactorService.tryAcquire(user, httpRequest.getRemoteAddr());
+        if (retryAfter > 0) return tooManyAttempts(retryAfter);
+
+        twoFactorService.disable(user, request.getPassword(), request.getCode(), httpRequest.getRemoteAddr());
+        return ResponseEntity.ok(new AuthorizationResponse("Two-Factor Authentication Disabled"));
+    }
+
+    private static ResponseEntity<AuthorizationResponse> tooManyAttempts(long retryAfter) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body(new AuthorizationResponse("Too Many Attempts. Try Again Later."));
+    }
+
+    // Enrollment Steps Follow Each Other Within Seconds: Read Them From the Primary
+    private User currentUser(Authentication authentication) {
+        return ReadYourWrites.onPrimary(() -> userRepository.findByUsername(authentication.getName()))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+}
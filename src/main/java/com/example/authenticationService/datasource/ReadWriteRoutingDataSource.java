@@ -0,0 +1,144 @@
+package com.example.authenticationService.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Read-only transactions go round-robin to healthy replicas, everything else to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only known once the
+// transaction has begun, so the physical connection has to be fetched lazily.
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String healthQuery;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final AtomicLong primaryRoutes = new AtomicLong();
+    private final AtomicLong replicaRoutes = new AtomicLong();
+    private final AtomicLong failovers = new AtomicLong();
+
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // Unhealthy Until the First Check Passes
+        private volatile boolean healthy;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() { return name; }
+        public DataSource getDataSource() { return dataSource; }
+        public boolean isHealthy() { return healthy; }
+    }
+
+    // healthQuery null/blank = Connection.isValid() only
+    public ReadWriteRoutingDataSource(DataSource primary, List<Replica> replicas, String healthQuery) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.healthQuery = healthQuery == null || healthQuery.isBlank() ? null : healthQuery;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = routeToReplica() ? pickReplica() : null;
+        if (replica == null) {
+            primaryRoutes.incrementAndGet();
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            replicaRoutes.incrementAndGet();
+            return connection;
+        } catch (SQLException e) {
+            // Failover: Take the Replica Out Until the Next Successful Check, Serve From the Primary
+            markDown(replica, e);
+            failovers.incrementAndGet();
+            primaryRoutes.incrementAndGet();
+            return primary.getConnection();
+        }
+    }
+
+    // Explicit Credentials are the Primary's: Replicas May Not Know Them. A Pool That Doesn't
+    // Take Per-Call Credentials (Hikari) Refuses With SQLFeatureNotSupportedException Itself
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryRoutes.incrementAndGet();
+        return primary.getConnection(username, password);
+    }
+
+    // Run by RoutingDataSourceConfig on a schedule (and once at startup)
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean ok = probe(replica);
+            if (ok != replica.healthy) {
+                log.info("Replica {} is now {}", replica.name, ok ? "UP" : "DOWN");
+            }
+            replica.healthy = ok;
+        }
+    }
+
+    // Closes the Pools Owned by This Router (Bean Destroy Method)
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable c) c.close();
+        }
+        if (primary instanceof AutoCloseable c) c.close();
+    }
+
+    private static boolean routeToReplica() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWrites.isPrimaryForced();
+    }
+
+    private Replica pickReplica() {
+        int n = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(n, 1));
+        for (int i = 0; i < n; i++) {
+            Replica candidate = replicas.get((start + i) % n);
+            if (candidate.healthy) return candidate;
+        }
+        return null; // None Healthy: Primary Serves Reads Too
+    }
+
+    private boolean probe(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (healthQuery == null) return connection.isValid(2);
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(2);
+                statement.execute(healthQuery);
+                return true;
+            }
+        } catch (SQLException e) {
+            log.debug("Replica {} health check failed", replica.name, e);
+            return false;
+        }
+    }
+
+    private void markDown(Replica replica, SQLException cause) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} failed a connection attempt, routing its reads to the primary", replica.name, cause);
+        }
+    }
+
+    public List<Replica> getReplicas() { return replicas; }
+    public long getHealthyReplicaCount() { return replicas.stream().filter(Replica::isHealthy).count(); }
+    public long getPrimaryRouteCount() { return primaryRoutes.get(); }
+    public long getReplicaRouteCount() { return replicaRoutes.get(); }
+    public long getFailoverCount() { return failovers.get(); }
+}
@@ -0,0 +1,65 @@
+package com.example.authenticationService.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Read-your-writes stickiness: after a write for a user (signup, verify-otp) their reads are
+// pinned to the primary for a window longer than the expected replica lag. Keys are whatever
+// the follow-up request identifies the user by (username and/or email). Per node, in memory.
+// A no-op unless datasource.routing.enabled is set.
+@Component
+public class ReadYourWrites {
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+    private static final int MAX_KEYS = 100_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(@Value("${datasource.routing.sticky-window:PT5S}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void markWritten(String... keys) {
+        long until = System.nanoTime() + windowNanos;
+        if (stickyUntil.size() >= MAX_KEYS) pruneExpired();
+        for (String key : keys) {
+            if (key != null) stickyUntil.put(key, until);
+        }
+    }
+
+    // Reads Concerning `key`: Primary While it is Sticky, Otherwise Wherever the Router Sends Them
+    public <T> T read(String key, Supplier<T> query) {
+        Long until = key == null ? null : stickyUntil.get(key);
+        if (until == null) return query.get();
+        if (System.nanoTime() - until > 0) {
+            stickyUntil.remove(key, until);
+            return query.get();
+        }
+        return onPrimary(query);
+    }
+
+    // Unconditionally Pin the Enclosed Reads to the Primary
+    public static <T> T onPrimary(Supplier<T> query) {
+        Boolean outer = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            if (outer == null) PRIMARY_FORCED.remove();
+        }
+    }
+
+    static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    private void pruneExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> now - until > 0);
+    }
+}
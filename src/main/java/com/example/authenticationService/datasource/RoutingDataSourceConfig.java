@@ -0,0 +1,101 @@
+package com.example.authenticationService.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces the auto-configured pool with primary + replica pools behind a read/write router.
+// Primary: spring.datasource.*; replicas: datasource.routing.replicas[n].url/username/password.
+// Both inherit spring.datasource.hikari.* pool settings.
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    public record ReplicaProperties(String url, String username, String password) { }
+
+    private ReadWriteRoutingDataSource router;
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties primaryProperties,
+                                                                 Environment environment,
+                                                                 @Value("${datasource.routing.health-query:}") String healthQuery) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<ReplicaProperties> replicaProperties = binder
+                .bind("datasource.routing.replicas", Bindable.listOf(ReplicaProperties.class))
+                .orElse(List.of());
+
+        List<ReadWriteRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            ReplicaProperties p = replicaProperties.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setJdbcUrl(p.url());
+            pool.setUsername(p.username() != null ? p.username() : primaryProperties.determineUsername());
+            pool.setPassword(p.password() != null ? p.password() : primaryProperties.determinePassword());
+            pool.setPoolName("replica-" + i);
+            // A Down Replica Must Not Block Startup; the Health Check Brings it in Later
+            pool.setInitializationFailTimeout(-1);
+            replicas.add(new ReadWriteRoutingDataSource.Replica(pool.getPoolName(), pool));
+        }
+
+        router = new ReadWriteRoutingDataSource(primary, replicas, healthQuery);
+        router.checkReplicas();
+        return router;
+    }
+
+    // What JPA and JDBC see: connections are fetched on first use, after the transaction's
+    // read-only flag is set, so the router can see it
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource router) {
+        return new LazyConnectionDataSourceProxy(router);
+    }
+
+    // Open-in-view keeps one EntityManager, and by default one held connection, for the whole
+    // request: whichever target its first statement resolved would serve every later transaction.
+    // Releasing after each transaction lets the router choose again for the next one.
+    @Bean
+    public HibernatePropertiesCustomizer routingConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        if (router != null) router.checkReplicas();
+    }
+
+    @Bean
+    public MeterBinder routingDataSourceMetrics(ReadWriteRoutingDataSource r) {
+        return registry -> {
+            Gauge.builder("auth.datasource.replicas.healthy", r, ReadWriteRoutingDataSource::getHealthyReplicaCount).register(registry);
+            FunctionCounter.builder("auth.datasource.routes", r, ReadWriteRoutingDataSource::getPrimaryRouteCount).tag("target", "primary").register(registry);
+            FunctionCounter.builder("auth.datasource.routes", r, ReadWriteRoutingDataSource::getReplicaRouteCount).tag("target", "replica").register(registry);
+            FunctionCounter.builder("auth.datasource.failovers", r, ReadWriteRoutingDataSource::getFailoverCount).register(registry);
+        };
+    }
+}
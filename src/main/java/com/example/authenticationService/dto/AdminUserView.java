@@ -0,0 +1,10 @@
+package com.example.authenticationService.dto;
+
+import com.example.authenticationService.model.User;
+
+import java.time.Instant;
+
+// Admin Listing/Export Row: Selected Straight Into the Record (No Entity, No Password Hash)
+public record AdminUserView(Long id, String username, String email, String firstName, String lastName,
+                            User.UserStatus status, Instant emailVerifiedAt) {
+}
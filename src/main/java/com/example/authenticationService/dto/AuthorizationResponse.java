@@ -1,18 +1,41 @@
 package com.example.authenticationService.dto;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 
 @Data
-@AllArgsConstructor
 public class AuthorizationResponse {
     private String message;
 
     //For Login
     private String token;
 
+    //For Login and Refresh
+    private String refreshToken;
+
+    //For a Login Still Waiting on its Second Factor (Exchange at /auth/login/2fa)
+    private String challengeToken;
+
     public AuthorizationResponse(String message) {
 
         this.message = message;
     }
+
+    public AuthorizationResponse(String message, String token) {
+
+        this.message = message;
+        this.token = token;
+    }
+
+    public AuthorizationResponse(String message, String token, String refreshToken) {
+
+        this.message = message;
+        this.token = token;
+        this.refreshToken = refreshToken;
+    }
+
+    public static AuthorizationResponse challenge(String message, String challengeToken) {
+        AuthorizationResponse response = new AuthorizationResponse(message);
+        response.challengeToken = challengeToken;
+        return response;
+    }
 }
@@ -0,0 +1,10 @@
+package com.example.authenticationService.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshRequest {
+    @NotBlank(message = "Refresh Token is Required")
+    private String refreshToken;
+}
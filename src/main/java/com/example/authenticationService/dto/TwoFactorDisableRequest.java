@@ -0,0 +1,15 @@
+package com.example.authenticationService.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+@Data
+public class TwoFactorDisableRequest {
+    @NotBlank(message = "Password is Required")
+    private String password;
+
+    @NotBlank
+    @Pattern(regexp = "\\d{6}", message = "Code Must be 6 Digits")
+    private String code;
+}
@@ -0,0 +1,15 @@
+package com.example.authenticationService.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+@Data
+public class TwoFactorLoginRequest {
+    @NotBlank(message = "Challenge Token is Required")
+    private String challengeToken;
+
+    @NotBlank
+    @Pattern(regexp = "\\d{6}", message = "Code Must be 6 Digits")
+    private String code;
+}
@@ -0,0 +1,10 @@
+package com.example.authenticationService.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class TwoFactorSetupRequest {
+    @NotBlank(message = "Password is Required")
+    private String password;
+}
@@ -0,0 +1,4 @@
+package com.example.authenticationService.dto;
+
+// Secret for manual entry, otpauth URI for a QR code; 2FA stays off until /auth/2fa/enable
+public record TwoFactorSetupResponse(String secret, String otpauthUri) { }
@@ -0,0 +1,40 @@
+package com.example.authenticationService.dto;
+
+import com.example.authenticationService.model.User;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+// One NDJSON object or CSV record of a bulk import. Either a plaintext password
+// (hashed server-side) or an existing BCrypt hash must be given.
+@Data
+public class UserImportRow {
+
+    @NotBlank(message = "First Name is Required")
+    private String firstName;
+
+    @NotBlank(message = "Last Name is Required")
+    private String lastName;
+
+    @NotBlank(message = "Username is Required")
+    private String username;
+
+    @Email(message = "Invalid Email Format")
+    @NotBlank(message = "Email is Required")
+    private String email;
+
+    @Size(min = 8, message = "Password Must be at Least 8 Characters")
+    private String password;
+
+    private String passwordHash;
+
+    // Defaults to ACTIVE, or PENDING when the import sends verification codes
+    private User.UserStatus status;
+
+    @AssertTrue(message = "Exactly One of Password or Password Hash is Required")
+    private boolean isPasswordProvided() {
+        return (password == null) != (passwordHash == null);
+    }
+}
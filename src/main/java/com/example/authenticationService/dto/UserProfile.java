@@ -0,0 +1,13 @@
+package com.example.authenticationService.dto;
+
+import com.example.authenticationService.model.User;
+
+// Read-Only Projection of the Fields /auth/me Returns (Cached and/or Carried in JWT Claims)
+public record UserProfile(Long id, String username, String email, String firstName, String lastName,
+                          User.UserStatus status) {
+
+    public static UserProfile from(User user) {
+        return new UserProfile(user.getId(), user.getUsername(), user.getEmail(),
+                user.getFirstName(), user.getLastName(), user.getStatus());
+    }
+}
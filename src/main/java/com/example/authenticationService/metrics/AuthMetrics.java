@@ -0,0 +1,76 @@
+package com.example.authenticationService.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Every meter is registered once up front; hot paths only touch pre-built Counter/Timer
+// fields, so recording never builds tag arrays or looks anything up in the registry.
+@Component
+public class AuthMetrics {
+
+    public enum LoginOutcome { SUCCESS, INVALID, SUSPENDED, PENDING, THROTTLED, TWO_FACTOR_REQUIRED }
+
+    public enum OtpOutcome { VERIFIED, INVALID, EXPIRED, TOO_MANY_ATTEMPTS, NO_PENDING, ALREADY_USED }
+
+    private final Counter[] loginOutcomes;
+    private final Counter[] otpOutcomes;
+    private final Counter resendCooldownRejections;
+    private final Counter resendCoalesced;
+
+    private final Timer passwordEncode;
+    private final Timer passwordMatches;
+    private final Timer jwtSign;
+    private final Timer jwtVerify;
+    private final Timer mailSend;
+
+    public AuthMetrics(MeterRegistry registry) {
+        loginOutcomes = new Counter[LoginOutcome.values().length];
+        for (LoginOutcome o : LoginOutcome.values()) {
+            loginOutcomes[o.ordinal()] = Counter.builder("auth.login")
+                    .description("Login attempts by outcome")
+                    .tag("outcome", o.name().toLowerCase())
+                    .register(registry);
+        }
+        otpOutcomes = new Counter[OtpOutcome.values().length];
+        for (OtpOutcome o : OtpOutcome.values()) {
+            otpOutcomes[o.ordinal()] = Counter.builder("auth.otp.verify")
+                    .description("OTP verification attempts by outcome")
+                    .tag("outcome", o.name().toLowerCase())
+                    .register(registry);
+        }
+        resendCooldownRejections = Counter.builder("auth.otp.resend.cooldown")
+                .description("OTP (re)sends rejected by the resend cooldown")
+                .register(registry);
+        resendCoalesced = Counter.builder("auth.otp.resend.coalesced")
+                .description("Resend requests that joined an in-flight resend for the same user")
+                .register(registry);
+
+        passwordEncode = timer(registry, "auth.password.hash", "op", "encode");
+        passwordMatches = timer(registry, "auth.password.hash", "op", "matches");
+        jwtSign = timer(registry, "auth.jwt", "op", "sign");
+        jwtVerify = timer(registry, "auth.jwt", "op", "verify");
+        mailSend = Timer.builder("auth.mail.send")
+                .description("SMTP send of one dispatcher batch")
+                .register(registry);
+    }
+
+    public void login(LoginOutcome outcome) { loginOutcomes[outcome.ordinal()].increment(); }
+    public void otp(OtpOutcome outcome) { otpOutcomes[outcome.ordinal()].increment(); }
+    public void resendCooldown() { resendCooldownRejections.increment(); }
+    public void resendCoalesced() { resendCoalesced.increment(); }
+
+    // Callers pass System.nanoTime() deltas
+    public void passwordEncode(long nanos) { passwordEncode.record(nanos, TimeUnit.NANOSECONDS); }
+    public void passwordMatches(long nanos) { passwordMatches.record(nanos, TimeUnit.NANOSECONDS); }
+    public void jwtSign(long nanos) { jwtSign.record(nanos, TimeUnit.NANOSECONDS); }
+    public void jwtVerify(long nanos) { jwtVerify.record(nanos, TimeUnit.NANOSECONDS); }
+    public void mailSend(long nanos) { mailSend.record(nanos, TimeUnit.NANOSECONDS); }
+
+    private static Timer timer(MeterRegistry registry, String name, String tagKey, String tagValue) {
+        return Timer.builder(name).tag(tagKey, tagValue).register(registry);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.authenticationService.metrics;
+
+import com.example.authenticationService.audit.AuditLog;
+import com.example.authenticationService.security.LoginRateLimiter;
+import com.example.authenticationService.security.TotpVerifier;
+import com.example.authenticationService.security.VerifiedTokenCache;
+import com.example.authenticationService.service.MailDispatcher;
+import com.example.authenticationService.service.OtpTokenReaper;
+import com.example.authenticationService.service.PasswordHashingService;
+import com.example.authenticationService.service.TokenRevocationService;
+import com.example.authenticationService.service.TwoFactorService;
+import com.example.authenticationService.service.UserProfileCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Exposes the counters the components already keep as polled gauges/function counters,
+// so none of them need a registry on their own hot paths.
+// Repository call timings come from Spring Data's built-in spring.data.repository.invocations.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder mailDispatcherMetrics(MailDispatcher d) {
+        return registry -> {
+            Gauge.builder("auth.mail.queue.depth", d, MailDispatcher::getQueueDepth).register(registry);
+            Gauge.builder("auth.mail.queue.remaining", d, MailDispatcher::getRemainingCapacity).register(registry);
+            FunctionCounter.builder("auth.mail.messages", d, MailDispatcher::getEnqueuedCount).tag("result", "enqueued").register(registry);
+            FunctionCounter.builder("auth.mail.messages", d, MailDispatcher::getSentCount).tag("result", "sent").register(registry);
+            FunctionCounter.builder("auth.mail.messages", d, MailDispatcher::getRetriedCount).tag("result", "retried").register(registry);
+            FunctionCounter.builder("auth.mail.messages", d, MailDispatcher::getFailedCount).tag("result", "failed").register(registry);
+            FunctionCounter.builder("auth.mail.messages", d, MailDispatcher::getRejectedCount).tag("result", "rejected").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHashingService h) {
+        return registry -> {
+            Gauge.builder("auth.password.hash.queue.depth", h, PasswordHashingService::getQueueDepth).register(registry);
+            Gauge.builder("auth.password.hash.active", h, PasswordHashingService::getActiveCount).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tokenCacheMetrics(VerifiedTokenCache c) {
+        return registry -> {
+            Gauge.builder("auth.jwt.cache.size", c, VerifiedTokenCache::size).register(registry);
+            FunctionCounter.builder("auth.jwt.cache", c, VerifiedTokenCache::getHitCount).tag("result", "hit").register(registry);
+            FunctionCounter.builder("auth.jwt.cache", c, VerifiedTokenCache::getMissCount).tag("result", "miss").register(registry);
+            FunctionCounter.builder("auth.jwt.cache", c, VerifiedTokenCache::getEvictionCount).tag("result", "eviction").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder userProfileCacheMetrics(UserProfileCache c) {
+        return registry -> {
+            Gauge.builder("auth.user.cache.size", c, UserProfileCache::size).register(registry);
+            FunctionCounter.builder("auth.user.cache", c, UserProfileCache::getHitCount).tag("result", "hit").register(registry);
+            FunctionCounter.builder("auth.user.cache", c, UserProfileCache::getMissCount).tag("result", "miss").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder loginRateLimiterMetrics(LoginRateLimiter l) {
+        return registry -> {
+            FunctionCounter.builder("auth.login.limiter", l, LoginRateLimiter::getAllowedCount).tag("result", "allowed").register(registry);
+            FunctionCounter.builder("auth.login.limiter", l, LoginRateLimiter::getRateLimitedCount).tag("result", "rate_limited").register(registry);
+            FunctionCounter.builder("auth.login.limiter", l, LoginRateLimiter::getLockedOutCount).tag("result", "locked_out").register(registry);
+            FunctionCounter.builder("auth.login.lockouts", l, LoginRateLimiter::getLockoutCount).register(registry);
+            FunctionCounter.builder("auth.login.limiter.evictions", l, LoginRateLimiter::getEvictionCount).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tokenRevocationMetrics(TokenRevocationService r) {
+        return registry -> {
+            Gauge.builder("auth.jwt.revocation.buckets", r, TokenRevocationService::getBucketCount).register(registry);
+            Gauge.builder("auth.jwt.revocation.confirmed.size", r, TokenRevocationService::getConfirmedCacheSize).register(registry);
+            FunctionCounter.builder("auth.jwt.revocation.lookups", r, TokenRevocationService::getFilterNegativeCount).tag("result", "filter_negative").register(registry);
+            FunctionCounter.builder("auth.jwt.revocation.lookups", r, TokenRevocationService::getConfirmedHitCount).tag("result", "revoked_cached").register(registry);
+            FunctionCounter.builder("auth.jwt.revocation.lookups", r, TokenRevocationService::getConfirmedRevokedCount).tag("result", "revoked").register(registry);
+            FunctionCounter.builder("auth.jwt.revocation.lookups", r, TokenRevocationService::getFalsePositiveCount).tag("result", "false_positive").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder totpMetrics(TotpVerifier t, TwoFactorService s) {
+        return registry -> {
+            Gauge.builder("auth.2fa.replay.cache.size", t, TotpVerifier::getReplayCacheSize).register(registry);
+            Gauge.builder("auth.2fa.challenge.spent.size", s, TwoFactorService::getSpentChallengeCount).register(registry);
+            FunctionCounter.builder("auth.2fa.verify", t, TotpVerifier::getVerifiedCount).tag("outcome", "verified").register(registry);
+            FunctionCounter.builder("auth.2fa.verify", t, TotpVerifier::getInvalidCount).tag("outcome", "invalid").register(registry);
+            FunctionCounter.builder("auth.2fa.verify", t, TotpVerifier::getReplayedCount).tag("outcome", "replayed").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder auditLogMetrics(AuditLog a) {
+        return registry -> {
+            Gauge.builder("auth.audit.ring.depth", a, AuditLog::getRingDepth).register(registry);
+            Gauge.builder("auth.audit.ring.capacity", a, AuditLog::getRingCapacity).register(registry);
+            FunctionCounter.builder("auth.audit.events", a, AuditLog::getPublishedCount).tag("result", "published").register(registry);
+            FunctionCounter.builder("auth.audit.events", a, AuditLog::getDroppedCount).tag("result", "dropped").register(registry);
+            FunctionCounter.builder("auth.audit.events", a, AuditLog::getWrittenCount).tag("result", "written").register(registry);
+            FunctionCounter.builder("auth.audit.events", a, AuditLog::getWriteFailureCount).tag("result", "write_failed").register(registry);
+            FunctionCounter.builder("auth.audit.segments", a, AuditLog::getSegmentCount).register(registry);
+        };
+    }
+
+    // Reaper only exists with the JPA OTP store
+    @Bean
+    public MeterBinder otpReaperMetrics(ObjectProvider<OtpTokenReaper> reaper) {
+        return registry -> reaper.ifAvailable(r -> {
+            FunctionCounter.builder("auth.otp.purge.rows", r, OtpTokenReaper::getPurgedTotal).register(registry);
+            Gauge.builder("auth.otp.purge.batch.last.ms", r, OtpTokenReaper::getLastBatchMillis).register(registry);
+            Gauge.builder("auth.otp.purge.backlog", r, OtpTokenReaper::getBacklog).register(registry);
+        });
+    }
+}
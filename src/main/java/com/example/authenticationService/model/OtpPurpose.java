@@ -3,5 +3,6 @@ package com.example.authenticationService.model;
 public enum OtpPurpose {
     SIGNUP,
     PASSWORD_RESET,
+    // TOTP (TwoFactorService): Computed From the User's Secret, Never Stored as an otp_tokens Row
     TWO_FACTOR
 }
@@ -7,7 +7,8 @@ import java.time.Instant;
 
 @Entity
 @Table(name="otp_tokens", indexes = {
-        @Index(name="idx_otp_user_purpose", columnList = "user_id, purpose, consumedAt, expiresAt")
+        @Index(name="idx_otp_user_purpose", columnList = "user_id, purpose, consumedAt, expiresAt"),
+        @Index(name="idx_otp_expires", columnList = "expiresAt")
 })
 
 @Data
@@ -19,7 +20,7 @@ public class OtpToken {
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private User user;
 
-    // BCrypt hash of the otp
+    // Keyed hash of the otp (see OtpHasher); rows from before the migration hold BCrypt
     @Column(nullable = false, length = 100)
     private String otpHash;
 
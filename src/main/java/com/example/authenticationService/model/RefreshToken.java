@@ -0,0 +1,37 @@
+package com.example.authenticationService.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+// One row per issued refresh token; a login starts a family, every refresh rotates within it
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_family", columnList = "family"),
+        @Index(name = "idx_refresh_expires", columnList = "expiresAt")
+})
+
+@Data
+public class RefreshToken {
+    // JWT jti
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false, length = 36)
+    private String family;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // Set when rotated; presenting it again is reuse
+    @Column
+    private Instant usedAt;
+
+    @Column
+    private Instant revokedAt;
+}
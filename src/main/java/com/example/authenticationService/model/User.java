@@ -7,7 +7,13 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.UK_USERNAME, columnNames = "username"),
+        @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email")
+}, indexes = {
+        // Admin Listing: Status Filter + Keyset on id
+        @Index(name = "idx_users_status_id", columnList = "status, id")
+})
 
 //Generated by Lombok (Boilerplate Shortcuts)
 @Getter
@@ -19,6 +25,10 @@ public class User {
 
     public enum UserStatus { PENDING, ACTIVE, SUSPENDED }
 
+    // Named So Signup Can Tell Which Duplicate It Hit
+    public static final String UK_USERNAME = "uk_users_username";
+    public static final String UK_EMAIL = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -31,11 +41,11 @@ public class User {
     @NotBlank(message = "Last Name is required")
     private String lastName;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     @NotBlank(message = "Username is required")
     private String username;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     @NotBlank(message = "Email is required")
     private String email;
 
@@ -49,4 +59,15 @@ public class User {
 
     @Column
     private Instant emailVerifiedAt;
+
+    // TOTP Secret (Base32), Written at 2FA Setup; Logins Only Require it Once twoFactorEnabledAt is Set
+    @Column(length = 64)
+    private String totpSecret;
+
+    @Column
+    private Instant twoFactorEnabledAt;
+
+    public boolean isTwoFactorEnabled() {
+        return twoFactorEnabledAt != null && totpSecret != null;
+    }
 }
@@ -0,0 +1,138 @@
+package com.example.authenticationService.repository;
+
+import com.example.authenticationService.model.OtpPurpose;
+import com.example.authenticationService.model.OtpToken;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-process TTL backend: one live token per (user, purpose), mutations serialized on a lock stripe.
+// Tokens are single-node; use the JPA store when codes must verify on any instance.
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory")
+public class InMemoryOtpStore implements OtpStore {
+    private static final int STRIPES = 64;
+
+    private record Key(Long userId, OtpPurpose purpose) { }
+
+    private final Map<Key, OtpToken> tokens = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+
+    public InMemoryOtpStore() {
+        for (int i = 0; i < STRIPES; i++) locks[i] = new Object();
+    }
+
+    @Override
+    public Optional<OtpToken> findLatestActive(Long userId, OtpPurpose purpose) {
+        Key key = new Key(userId, purpose);
+        synchronized (lockFor(key)) {
+            OtpToken token = tokens.get(key);
+            return token == null || token.getConsumedAt() != null ? Optional.empty() : Optional.of(copy(token));
+        }
+    }
+
+    @Override
+    public OtpToken issue(OtpToken token) {
+        if (token.getId() == null) token.setId(UUID.randomUUID().toString());
+        Key key = keyOf(token);
+        synchronized (lockFor(key)) {
+            // Replacing the slot consumes whatever was there
+            tokens.put(key, copy(token));
+        }
+        return token;
+    }
+
+    @Override
+    public OtpToken insert(OtpToken token) {
+        return issue(token);
+    }
+
+    @Override
+    public void insertAll(List<OtpToken> tokens) {
+        tokens.forEach(this::issue);
+    }
+
+    @Override
+    public boolean tryClaimResend(OtpToken token, Instant sentBefore, Instant now) {
+        Key key = keyOf(token);
+        synchronized (lockFor(key)) {
+            OtpToken current = tokens.get(key);
+            if (current == null || !current.getId().equals(token.getId()) || current.getConsumedAt() != null) return false;
+            if (current.getLastSentAt().isAfter(sentBefore)) return false;
+            current.setLastSentAt(now);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean tryIncrementAttempts(OtpToken token, int maxAttempts, Instant now) {
+        Key key = keyOf(token);
+        synchronized (lockFor(key)) {
+            OtpToken current = tokens.get(key);
+            if (current == null || !current.getId().equals(token.getId())) return false;
+            if (current.getConsumedAt() != null || !now.isBefore(current.getExpiresAt())) return false;
+            if (current.getAttempts() >= maxAttempts) return false;
+            current.setAttempts(current.getAttempts() + 1);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean consume(OtpToken token, Instant now) {
+        Key key = keyOf(token);
+        synchronized (lockFor(key)) {
+            OtpToken current = tokens.get(key);
+            if (current == null || !current.getId().equals(token.getId()) || current.getConsumedAt() != null) return false;
+            current.setConsumedAt(now);
+            return true;
+        }
+    }
+
+    // TTL Sweep: Drop Expired and Consumed Tokens
+    @Scheduled(fixedDelayString = "${otp.store.memory.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        Instant now = Instant.now();
+        tokens.forEach((key, token) -> {
+            synchronized (lockFor(key)) {
+                OtpToken current = tokens.get(key);
+                if (current != null && (current.getConsumedAt() != null || now.isAfter(current.getExpiresAt()))) {
+                    tokens.remove(key);
+                }
+            }
+        });
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private static Key keyOf(OtpToken token) {
+        return new Key(token.getUser().getId(), token.getPurpose());
+    }
+
+    private Object lockFor(Key key) {
+        return locks[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    // Callers get snapshots so stored state only changes under the stripe lock
+    private static OtpToken copy(OtpToken source) {
+        OtpToken t = new OtpToken();
+        t.setId(source.getId());
+        t.setUser(source.getUser());
+        t.setOtpHash(source.getOtpHash());
+        t.setPurpose(source.getPurpose());
+        t.setCreatedAt(source.getCreatedAt());
+        t.setExpiresAt(source.getExpiresAt());
+        t.setConsumedAt(source.getConsumedAt());
+        t.setAttempts(source.getAttempts());
+        t.setLastSentAt(source.getLastSentAt());
+        return t;
+    }
+}
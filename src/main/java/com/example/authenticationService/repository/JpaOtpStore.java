@@ -0,0 +1,87 @@
+package com.example.authenticationService.repository;
+
+import com.example.authenticationService.model.OtpPurpose;
+import com.example.authenticationService.model.OtpToken;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// Default Backend: otp_tokens Table (Callers Provide the Transaction)
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaOtpStore implements OtpStore {
+    private static final String INSERT_SQL =
+            "insert into otp_tokens (id, user_id, otp_hash, purpose, created_at, expires_at, attempts, last_sent_at) " +
+            "values (:id, :userId, :otpHash, :purpose, :createdAt, :expiresAt, :attempts, :lastSentAt)";
+
+    private final OtpTokenRepository otpRepo;
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public JpaOtpStore(OtpTokenRepository otpRepo, NamedParameterJdbcTemplate jdbc) {
+        this.otpRepo = otpRepo;
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Optional<OtpToken> findLatestActive(Long userId, OtpPurpose purpose) {
+        return otpRepo.findTopByUserIdAndPurposeAndConsumedAtIsNullOrderByCreatedAtDesc(userId, purpose);
+    }
+
+    @Override
+    public OtpToken issue(OtpToken token) {
+        otpRepo.consumeAllForUser(token.getUser().getId(), token.getPurpose(), Instant.now());
+        return otpRepo.save(token);
+    }
+
+    @Override
+    public OtpToken insert(OtpToken token) {
+        return otpRepo.save(token);
+    }
+
+    // One JDBC batch instead of a persist (and flush) per token; only the user's id is read
+    @Override
+    public void insertAll(List<OtpToken> tokens) {
+        if (tokens.isEmpty()) return;
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] params = new Map[tokens.size()];
+        for (int i = 0; i < tokens.size(); i++) {
+            OtpToken t = tokens.get(i);
+            if (t.getId() == null) t.setId(UUID.randomUUID().toString());
+
+            Map<String, Object> p = new LinkedHashMap<>();
+            p.put("id", t.getId());
+            p.put("userId", t.getUser().getId());
+            p.put("otpHash", t.getOtpHash());
+            p.put("purpose", t.getPurpose().name());
+            p.put("createdAt", Timestamp.from(t.getCreatedAt()));
+            p.put("expiresAt", Timestamp.from(t.getExpiresAt()));
+            p.put("attempts", t.getAttempts());
+            p.put("lastSentAt", Timestamp.from(t.getLastSentAt()));
+            params[i] = p;
+        }
+        jdbc.batchUpdate(INSERT_SQL, params);
+    }
+
+    @Override
+    public boolean tryClaimResend(OtpToken token, Instant sentBefore, Instant now) {
+        return otpRepo.claimResend(token.getId(), sentBefore, now) == 1;
+    }
+
+    @Override
+    public boolean tryIncrementAttempts(OtpToken token, int maxAttempts, Instant now) {
+        return otpRepo.incrementAttempts(token.getId(), maxAttempts, now) == 1;
+    }
+
+    @Override
+    public boolean consume(OtpToken token, Instant now) {
+        return otpRepo.consume(token.getId(), now) == 1;
+    }
+}
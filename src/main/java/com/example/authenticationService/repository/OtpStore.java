@@ -0,0 +1,34 @@
+package com.example.authenticationService.repository;
+
+import com.example.authenticationService.model.OtpPurpose;
+import com.example.authenticationService.model.OtpToken;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+// Storage for one-time codes; selected with otp.store=jpa (default) or otp.store=memory
+public interface OtpStore {
+
+    // Latest unconsumed token for the user and purpose, expired or not
+    Optional<OtpToken> findLatestActive(Long userId, OtpPurpose purpose);
+
+    // Consume any unconsumed tokens for the same user and purpose, then store the new one
+    OtpToken issue(OtpToken token);
+
+    // Store a token for a user who cannot have any yet (fresh signup): a plain insert
+    OtpToken insert(OtpToken token);
+
+    // Same as insert for many users at once (bulk import), written as one batch where the backend can
+    void insertAll(List<OtpToken> tokens);
+
+    // Atomically claim the resend slot: set lastSentAt to now only if the token is unconsumed and was
+    // last sent at or before sentBefore; false if another caller (on any node) claimed it first
+    boolean tryClaimResend(OtpToken token, Instant sentBefore, Instant now);
+
+    // Atomically bump attempts, only if the token is unconsumed, unexpired and under maxAttempts
+    boolean tryIncrementAttempts(OtpToken token, int maxAttempts, Instant now);
+
+    // Atomically mark consumed; false if another caller consumed it first
+    boolean consume(OtpToken token, Instant now);
+}
@@ -2,12 +2,15 @@ package com.example.authenticationService.repository;
 
 import com.example.authenticationService.model.OtpPurpose;
 import com.example.authenticationService.model.OtpToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface OtpTokenRepository extends JpaRepository <OtpToken, String> {
@@ -19,4 +22,26 @@ public interface OtpTokenRepository extends JpaRepository <OtpToken, String> {
     @Query("update OtpToken o set o.consumedAt = :now where o.user.id = :userId and o.purpose = :purpose and o.consumedAt is null")
     int consumeAllForUser(@Param("userId") Long userId, @Param("purpose") OtpPurpose purpose, @Param("now") Instant now);
 
+    @Modifying
+    @Query("update OtpToken o set o.lastSentAt = :now where o.id = :id and o.consumedAt is null and o.lastSentAt <= :sentBefore")
+    int claimResend(@Param("id") String id, @Param("sentBefore") Instant sentBefore, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update OtpToken o set o.attempts = o.attempts + 1 where o.id = :id and o.consumedAt is null and o.expiresAt > :now and o.attempts < :maxAttempts")
+    int incrementAttempts(@Param("id") String id, @Param("maxAttempts") int maxAttempts, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update OtpToken o set o.consumedAt = :now where o.id = :id and o.consumedAt is null")
+    int consume(@Param("id") String id, @Param("now") Instant now);
+
+    // Purge: Keyset Page of (id, expiresAt) Rows Expired Before the Cutoff, Starting at `from`
+    @Query("select o.id, o.expiresAt from OtpToken o where o.expiresAt >= :from and o.expiresAt < :cutoff order by o.expiresAt")
+    List<Object[]> findPurgeable(@Param("from") Instant from, @Param("cutoff") Instant cutoff, Pageable page);
+
+    long countByExpiresAtBefore(Instant cutoff);
+
+    @Modifying
+    @Query("delete from OtpToken o where o.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<String> ids);
+
 }
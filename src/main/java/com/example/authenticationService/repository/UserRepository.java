@@ -1,12 +1,92 @@
 package com.example.authenticationService.repository;
 
+import com.example.authenticationService.dto.AdminUserView;
 import com.example.authenticationService.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+// Declared queries run read-only (so datasource routing can send them to a replica); inside a
+// service transaction they join it and use its connection, like before
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    // Admin Filters (Null = Any); `q` is a Prefix Match on Username or Email So the Unique Indexes Apply.
+    // '!' Escapes LIKE Wildcards: a Backslash Would Itself Need Escaping in MySQL String Literals
+    String ADMIN_VIEW = "select new com.example.authenticationService.dto.AdminUserView(" +
+            "u.id, u.username, u.email, u.firstName, u.lastName, u.status, u.emailVerifiedAt) from User u " +
+            "where u.id > :afterId " +
+            "and (:status is null or u.status = :status) " +
+            "and (:verified is null or (:verified = true and u.emailVerifiedAt is not null) or (:verified = false and u.emailVerifiedAt is null)) " +
+            "and (:verifiedAfter is null or u.emailVerifiedAt >= :verifiedAfter) " +
+            "and (:q is null or u.username like concat(:q, '%') escape '!' or u.email like concat(:q, '%') escape '!') " +
+            "order by u.id";
+
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // OTP Verification: Activate Only a Still-PENDING Account, in One Statement
+    @Modifying
+    @Transactional
+    @Query("update User u set u.status = com.example.authenticationService.model.User$UserStatus.ACTIVE, u.emailVerifiedAt = :now " +
+            "where u.id = :id and u.status = com.example.authenticationService.model.User$UserStatus.PENDING")
+    int activatePending(@Param("id") Long id, @Param("now") Instant now);
+
+    // Transparent Rehash: Swap Only the Hash, and Only if it is Still the One the Login Checked
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int replacePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    // 2FA Enrollment: Each Step Writes its Own Columns, Guarded by the State it Was Checked Against
+    @Modifying
+    @Transactional
+    @Query("update User u set u.totpSecret = :secret where u.id = :id and u.twoFactorEnabledAt is null")
+    int setPendingTotpSecret(@Param("id") Long id, @Param("secret") String secret);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.twoFactorEnabledAt = :now " +
+            "where u.id = :id and u.totpSecret = :secret and u.twoFactorEnabledAt is null")
+    int enableTwoFactor(@Param("id") Long id, @Param("secret") String secret, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.totpSecret = null, u.twoFactorEnabledAt = null " +
+            "where u.id = :id and u.totpSecret = :secret and u.twoFactorEnabledAt is not null")
+    int disableTwoFactor(@Param("id") Long id, @Param("secret") String secret);
+
+    // Keyset Page: Seeks Past the Last Seen id Instead of OFFSET, so Deep Pages Cost the Same as the First
+    @Query(ADMIN_VIEW)
+    List<AdminUserView> findAdminPage(@Param("afterId") long afterId,
+                                      @Param("status") User.UserStatus status,
+                                      @Param("verified") Boolean verified,
+                                      @Param("verifiedAfter") Instant verifiedAfter,
+                                      @Param("q") String q,
+                                      Pageable limit);
+
+    // Export: Rows are Fetched in Chunks and Never Enter the Persistence Context (Consume Inside a Transaction)
+    @Query(ADMIN_VIEW)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AdminUserView> streamAdminView(@Param("afterId") long afterId,
+                                          @Param("status") User.UserStatus status,
+                                          @Param("verified") Boolean verified,
+                                          @Param("verifiedAfter") Instant verifiedAfter,
+                                          @Param("q") String q);
 }
@@ -0,0 +1,79 @@
+package com.example.authenticationService.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// HMAC-SHA256 with a server-side pepper. Attempt limits and the TTL already bound brute force,
+// so a slow KDF only burns CPU here. Legacy BCrypt rows keep verifying until they expire.
+@Component
+public class HmacOtpHasher implements OtpHasher {
+    private static final Logger log = LoggerFactory.getLogger(HmacOtpHasher.class);
+    private static final String PREFIX = "{hmac}";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec pepper;
+    private final BCryptPasswordEncoder legacy = new BCryptPasswordEncoder();
+    private final ThreadLocal<Mac> mac;
+
+    public HmacOtpHasher(@Value("${otp.hash.pepper:}") String pepperBase64) {
+        byte[] keyBytes;
+        if (pepperBase64.isBlank()) {
+            // Codes issued before a restart (or on another node) will stop verifying
+            log.warn("otp.hash.pepper not set; using a random per-process pepper");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            try {
+                keyBytes = Base64.getDecoder().decode(pepperBase64.strip());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("otp.hash.pepper must be base64 (e.g. openssl rand -base64 32)", e);
+            }
+        }
+        this.pepper = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac m = Mac.getInstance(ALGORITHM);
+                m.init(pepper);
+                return m;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Override
+    public String hash(String code) {
+        return PREFIX + Base64.getEncoder().encodeToString(digest(code));
+    }
+
+    @Override
+    public boolean matches(String code, String storedHash) {
+        if (storedHash == null) return false;
+        if (!storedHash.startsWith(PREFIX)) {
+            // Pre-Migration Row
+            return legacy.matches(code, storedHash);
+        }
+        byte[] expected;
+        try {
+            expected = Base64.getDecoder().decode(storedHash.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, digest(code));
+    }
+
+    private byte[] digest(String code) {
+        return mac.get().doFinal(code.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.authenticationService.security;
 
+import com.example.authenticationService.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,39 +16,44 @@ import java.util.Collections;
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationService revocationService;
 
-    public JwtAuthFilter(JwtTokenProvider jwtTokenProvider) {
-        this.jwtTokenProvider = jwtTokenProvider;
+    public JwtAuthFilter(VerifiedTokenCache tokenCache, TokenRevocationService revocationService) {
+        this.tokenCache = tokenCache;
+        this.revocationService = revocationService;
+    }
+
+    // Public Routes Skip All JWT Work (Header Parsing, Verification, Revocation Check)
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PublicRoutes.matches(request);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        String path = request.getServletPath();
-
-        //JWT Exemption for Login and Signup End Points
-        if (path.equals("/auth/login/**") || path.equals("/auth/signup/**") || path.equals("/auth/logout/**")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
         // Extract Token from Header
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            if (jwtTokenProvider.validateToken(token)) {
-                String username = jwtTokenProvider.getUsernameFromToken(token);
-
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                username, null, Collections.emptyList()
-                        );
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+            // Single Parse (or Cache Hit): At Most One Signature Check per Request
+            // Only Access Tokens Authenticate (Not Refresh Tokens or 2FA Challenges); Revocation is a Bloom Lookup Unless it Hits
+            tokenCache.verify(token)
+                    .filter(JwtTokenProvider::isAccessToken)
+                    .filter(claims -> !revocationService.isRevoked(claims.getId(), claims.getExpiration()))
+                    .ifPresent(claims -> {
+                        UsernamePasswordAuthenticationToken authentication =
+                                new UsernamePasswordAuthenticationToken(
+                                        claims.getSubject(), null, Collections.emptyList()
+                                );
+                        // Verified Claims Travel With the Principal (Profile Claims Serve /auth/me)
+                        authentication.setDetails(claims);
+
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    });
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,183 @@
+package com.example.authenticationService.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Signing/verification keys by kid, loaded from a keystore (one alias = one kid).
+// Rotation: add the new key pair to the keystore, point jwt.signing.active-kid at it and restart;
+// older kids keep verifying (and stay in the JWKS) until removed from the keystore.
+// Without a keystore, falls back to a random per-process HS256 key (tokens die with the process).
+@Component
+public class JwtKeys {
+    private static final Logger log = LoggerFactory.getLogger(JwtKeys.class);
+    private static final String EPHEMERAL_KID = "ephemeral";
+
+    private final String activeKid;
+    private final Key signingKey;
+    private final SignatureAlgorithm algorithm;
+    private final Map<String, Key> verificationKeys;
+    private final String jwksJson;
+
+    @Autowired
+    public JwtKeys(@Value("${jwt.keystore.path:}") String keystorePath,
+                   @Value("${jwt.keystore.password:}") String keystorePassword,
+                   @Value("${jwt.keystore.type:PKCS12}") String keystoreType,
+                   @Value("${jwt.signing.active-kid:}") String activeKid,
+                   ObjectMapper objectMapper) throws IOException, GeneralSecurityException {
+        if (keystorePath.isBlank()) {
+            log.warn("jwt.keystore.path not set; signing with a random HS256 key, tokens won't survive a restart");
+            Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+            this.activeKid = EPHEMERAL_KID;
+            this.signingKey = key;
+            this.algorithm = SignatureAlgorithm.HS256;
+            this.verificationKeys = Map.of(EPHEMERAL_KID, key);
+            this.jwksJson = "{\"keys\":[]}";
+            return;
+        }
+
+        KeyStore keyStore = KeyStore.getInstance(keystoreType);
+        char[] password = keystorePassword.toCharArray();
+        try (InputStream in = Files.newInputStream(Path.of(keystorePath))) {
+            keyStore.load(in, password);
+        }
+
+        Map<String, Key> verification = new LinkedHashMap<>();
+        Map<String, PublicKey> published = new LinkedHashMap<>();
+        for (Enumeration<String> aliases = keyStore.aliases(); aliases.hasMoreElements(); ) {
+            String alias = aliases.nextElement();
+            if (keyStore.isKeyEntry(alias) && keyStore.getCertificate(alias) != null) {
+                PublicKey publicKey = keyStore.getCertificate(alias).getPublicKey();
+                verification.put(alias, publicKey);
+                published.put(alias, publicKey);
+            } else if (keyStore.isKeyEntry(alias)) {
+                // Secret (HMAC) key: verifies, never published
+                verification.put(alias, keyStore.getKey(alias, password));
+            }
+        }
+
+        String kid = activeKid.isBlank() ? verification.keySet().stream().findFirst()
+                .orElseThrow(() -> new IllegalStateException("No keys in " + keystorePath)) : activeKid;
+        Key privateKey = keyStore.getKey(kid, password);
+        if (privateKey == null) throw new IllegalStateException("Active kid '" + kid + "' not found in " + keystorePath);
+
+        this.activeKid = kid;
+        this.signingKey = privateKey;
+        this.algorithm = SignatureAlgorithm.forSigningKey(privateKey);
+        this.verificationKeys = Collections.unmodifiableMap(verification);
+        this.jwksJson = objectMapper.writeValueAsString(toJwks(published));
+        log.info("Loaded {} JWT key(s); signing with kid '{}' ({})", verification.size(), kid, algorithm);
+    }
+
+    private JwtKeys(Key key) {
+        this.activeKid = EPHEMERAL_KID;
+        this.signingKey = key;
+        this.algorithm = SignatureAlgorithm.HS256;
+        this.verificationKeys = Map.of(EPHEMERAL_KID, key);
+        this.jwksJson = "{\"keys\":[]}";
+    }
+
+    // Random HS256 Key Set (Benchmarks and Tests)
+    public static JwtKeys ephemeral() {
+        return new JwtKeys(Keys.secretKeyFor(SignatureAlgorithm.HS256));
+    }
+
+    public String getActiveKid() { return activeKid; }
+    public Key getSigningKey() { return signingKey; }
+    public SignatureAlgorithm getAlgorithm() { return algorithm; }
+
+    // Null kid (tokens issued before kids existed) falls back to the active key
+    public Key verificationKey(String kid) {
+        Key key = verificationKeys.get(kid == null ? activeKid : kid);
+        if (key == null) throw new SignatureException("Unknown kid: " + kid);
+        return key;
+    }
+
+    // Pre-Rendered RFC 7517 JWK Set of the Public Keys
+    public String getJwksJson() { return jwksJson; }
+
+    // Aliases are arbitrary keystore text, so the set goes through the ObjectMapper rather than concatenation
+    private static Map<String, Object> toJwks(Map<String, PublicKey> keys) {
+        List<Map<String, String>> jwks = new ArrayList<>();
+        keys.forEach((kid, key) -> {
+            if (key instanceof RSAPublicKey rsa) {
+                // Same size-to-algorithm rule as SignatureAlgorithm.forSigningKey
+                int bits = rsa.getModulus().bitLength();
+                String alg = bits >= 4096 ? "RS512" : bits >= 3072 ? "RS384" : "RS256";
+                Map<String, String> jwk = jwk("RSA", alg, kid);
+                jwk.put("n", b64(rsa.getModulus(), 0));
+                jwk.put("e", b64(rsa.getPublicExponent(), 0));
+                jwks.add(jwk);
+            } else if (key instanceof ECPublicKey ec) {
+                int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+                String crv = switch (size) {
+                    case 32 -> "P-256";
+                    case 48 -> "P-384";
+                    default -> "P-521";
+                };
+                String alg = switch (size) {
+                    case 32 -> "ES256";
+                    case 48 -> "ES384";
+                    default -> "ES512";
+                };
+                Map<String, String> jwk = jwk("EC", alg, kid);
+                jwk.put("crv", crv);
+                jwk.put("x", b64(ec.getW().getAffineX(), size));
+                jwk.put("y", b64(ec.getW().getAffineY(), size));
+                jwks.add(jwk);
+            }
+        });
+        return Map.of("keys", jwks);
+    }
+
+    // Common Members, in the Order RFC 7517 Lists Them
+    private static Map<String, String> jwk(String kty, String alg, String kid) {
+        Map<String, String> jwk = new LinkedHashMap<>();
+        jwk.put("kty", kty);
+        jwk.put("use", "sig");
+        jwk.put("alg", alg);
+        jwk.put("kid", kid);
+        return jwk;
+    }
+
+    // Unsigned big-endian, left-padded to `length` bytes when length > 0
+    private static String b64(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] trimmed = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, trimmed, 0, trimmed.length);
+            bytes = trimmed;
+        }
+        if (length > bytes.length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
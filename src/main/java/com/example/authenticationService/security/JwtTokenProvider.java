@@ -1,48 +1,140 @@
 package com.example.authenticationService.security;
 
+import com.example.authenticationService.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
-    private static final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-    private static final long EXPIRATION = 1000 * 60 * 60; // Equivalent to 1 Hour
+    // Token Kind: Refresh Tokens are Only Accepted by /auth/refresh
+    public static final String CLAIM_TYPE = "typ";
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+    // Two-Factor Challenge: Proves the Password Step, Only Accepted by /auth/login/2fa
+    public static final String TYPE_TWO_FACTOR = "2fa";
+    public static final String CLAIM_FAMILY = "fam";
 
-    // Generate Token
-    public static String generateToken(String username) {
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(key)
+    // Profile Claims
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_FIRST_NAME = "given_name";
+    public static final String CLAIM_LAST_NAME = "family_name";
+    public static final String CLAIM_STATUS = "status";
+
+    private final JwtKeys keys;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+
+    // Built Once: the parser is immutable and thread-safe, so every request can share it
+    private final JwtParser parser;
+
+    public JwtTokenProvider(JwtKeys keys,
+                            @Value("${jwt.access-ttl:PT15M}") Duration accessTtl,
+                            @Value("${jwt.refresh-ttl:P7D}") Duration refreshTtl) {
+        this.keys = keys;
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keys.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    // Generate Access Token
+    public String generateToken(String username) {
+        return builder(username, UUID.randomUUID().toString(), TYPE_ACCESS, accessTtl).compact();
+    }
+
+    // Generate Token, Optionally Carrying Profile Claims so /auth/me Needs no Lookup
+    public String generateToken(User user, boolean withProfile) {
+        if (!withProfile) return generateToken(user.getUsername());
+        return builder(user.getUsername(), UUID.randomUUID().toString(), TYPE_ACCESS, accessTtl)
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_EMAIL, user.getEmail())
+                .claim(CLAIM_FIRST_NAME, user.getFirstName())
+                .claim(CLAIM_LAST_NAME, user.getLastName())
+                .claim(CLAIM_STATUS, user.getStatus().name())
                 .compact();
     }
 
+    // Generate Refresh Token; the jti is the Server-Side Row Id, the Family Ties Rotations Together
+    public String generateRefreshToken(String username, String family, String jti) {
+        return builder(username, jti, TYPE_REFRESH, refreshTtl)
+                .claim(CLAIM_FAMILY, family)
+                .compact();
+    }
+
+    // Short-Lived, Carries Nothing but the Subject
+    public String generateTwoFactorChallenge(String username, Duration ttl) {
+        return builder(username, UUID.randomUUID().toString(), TYPE_TWO_FACTOR, ttl).compact();
+    }
+
+    public static boolean isAccessToken(Claims claims) {
+        return TYPE_ACCESS.equals(claims.get(CLAIM_TYPE, String.class));
+    }
+
+    public static boolean isRefreshToken(Claims claims) {
+        return TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class));
+    }
+
+    public static boolean isTwoFactorChallenge(Claims claims) {
+        return TYPE_TWO_FACTOR.equals(claims.get(CLAIM_TYPE, String.class));
+    }
+
+    public Duration getAccessTtl() {
+        return accessTtl;
+    }
+
+    public Duration getRefreshTtl() {
+        return refreshTtl;
+    }
+
+    // Verify Signature and Expiry Once, Returning the Claims (Subject, Expiration, ...)
+    public Optional<Claims> verify(String token) {
+        try {
+            return Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
     // Extract Username
-    public static String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
+    public String getUsernameFromToken(String token) {
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
     // Validate Token
-    public static boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
+    private JwtBuilder builder(String username, String jti, String type, Duration ttl) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keys.getActiveKid())
+                .setId(jti)
+                .setSubject(username)
+                .claim(CLAIM_TYPE, type)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttl.toMillis()))
+                .signWith(keys.getSigningKey(), keys.getAlgorithm());
     }
 }
@@ -0,0 +1,194 @@
+package com.example.authenticationService.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Token buckets per username and per client IP, plus a lockout with exponential backoff per
+// (username, client IP) pair. The lockout is deliberately not per username alone: that would let
+// anyone lock a victim out by failing a few logins against their name from anywhere. The per-username
+// bucket still caps distributed guessing, it just never hard-locks.
+// State lives in lock-striped LRU maps, so memory stays bounded under credential-stuffing traffic.
+@Component
+public class LoginRateLimiter {
+    private static final int STRIPES = 64;
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefillNanos;
+        int failures;
+        long lockedUntilNanos;
+    }
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final Limit userLimit;
+    private final Limit ipLimit;
+    private final int lockoutThreshold;
+    private final long lockoutBaseNanos;
+    private final long lockoutMaxNanos;
+
+    // Counters
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder lockedOut = new LongAdder();
+    private final LongAdder lockouts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LoginRateLimiter(@Value("${security.login.user.capacity:10}") int userCapacity,
+                            @Value("${security.login.user.refill-per-minute:10}") int userRefillPerMinute,
+                            @Value("${security.login.ip.capacity:50}") int ipCapacity,
+                            @Value("${security.login.ip.refill-per-minute:50}") int ipRefillPerMinute,
+                            @Value("${security.login.lockout.threshold:5}") int lockoutThreshold,
+                            @Value("${security.login.lockout.base-seconds:30}") long lockoutBaseSeconds,
+                            @Value("${security.login.lockout.max-seconds:3600}") long lockoutMaxSeconds,
+                            @Value("${security.login.max-keys:100000}") int maxKeys) {
+        this.userLimit = new Limit(userCapacity, userRefillPerMinute);
+        this.ipLimit = new Limit(ipCapacity, ipRefillPerMinute);
+        this.lockoutThreshold = lockoutThreshold;
+        this.lockoutBaseNanos = TimeUnit.SECONDS.toNanos(lockoutBaseSeconds);
+        this.lockoutMaxNanos = TimeUnit.SECONDS.toNanos(lockoutMaxSeconds);
+
+        int perStripe = Math.max(16, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe(perStripe);
+    }
+
+    // 0 if the attempt may proceed, otherwise seconds until retry. Call before any DB or hash work.
+    public long tryAcquire(String username, String clientIp) {
+        long now = System.nanoTime();
+
+        // Locked Out Attempts Don't Spend Tokens From Either Bucket
+        long lockWait = lockedFor(failureKey(username, clientIp), now);
+        if (lockWait > 0) return lockWait;
+
+        long ipWait = take(ipKey(clientIp), ipLimit, now);
+        if (ipWait > 0) return ipWait;
+
+        long userWait = take(userKey(username), userLimit, now);
+        if (userWait > 0) return userWait;
+
+        allowed.increment();
+        return 0;
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        String key = failureKey(username, clientIp);
+        Stripe stripe = stripeFor(key);
+        long now = System.nanoTime();
+        synchronized (stripe) {
+            Bucket b = stripe.getOrCreate(key, userLimit, now);
+            b.failures++;
+            if (b.failures >= lockoutThreshold) {
+                // 1x, 2x, 4x ... the base window, capped
+                int doublings = Math.min(b.failures - lockoutThreshold, 30);
+                long lockNanos = Math.min(lockoutMaxNanos, lockoutBaseNanos << doublings);
+                b.lockedUntilNanos = now + lockNanos;
+                lockouts.increment();
+            }
+        }
+    }
+
+    public void recordSuccess(String username, String clientIp) {
+        String key = failureKey(username, clientIp);
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Bucket b = stripe.map.get(key);
+            if (b != null) {
+                b.failures = 0;
+                b.lockedUntilNanos = 0;
+            }
+        }
+    }
+
+    // Seconds Left on the Pair's Lockout, 0 if None (Never Creates an Entry)
+    private long lockedFor(String key, long now) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Bucket b = stripe.map.get(key);
+            if (b == null || b.lockedUntilNanos - now <= 0) return 0;
+            lockedOut.increment();
+            return toRetrySeconds(b.lockedUntilNanos - now);
+        }
+    }
+
+    private long take(String key, Limit limit, long now) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Bucket b = stripe.getOrCreate(key, limit, now);
+
+            double elapsedMinutes = (now - b.lastRefillNanos) / (double) TimeUnit.MINUTES.toNanos(1);
+            b.tokens = Math.min(limit.capacity, b.tokens + elapsedMinutes * limit.refillPerMinute);
+            b.lastRefillNanos = now;
+
+            if (b.tokens >= 1) {
+                b.tokens -= 1;
+                return 0;
+            }
+            rateLimited.increment();
+            double minutesToToken = (1 - b.tokens) / limit.refillPerMinute;
+            return toRetrySeconds((long) (minutesToToken * TimeUnit.MINUTES.toNanos(1)));
+        }
+    }
+
+    private static long toRetrySeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L));
+    }
+
+    private static String userKey(String username) {
+        return "u:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+
+    private static String failureKey(String username, String clientIp) {
+        return "f:" + username.toLowerCase(Locale.ROOT) + "@" + clientIp;
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    public long getAllowedCount() { return allowed.sum(); }
+    public long getRateLimitedCount() { return rateLimited.sum(); }
+    public long getLockedOutCount() { return lockedOut.sum(); }
+    public long getLockoutCount() { return lockouts.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+
+    private record Limit(int capacity, double refillPerMinute) { }
+
+    // Access-ordered LinkedHashMap: least recently seen keys are dropped first
+    private final class Stripe {
+        final LinkedHashMap<String, Bucket> map;
+
+        Stripe(int maxEntries) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    if (size() > maxEntries) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        Bucket getOrCreate(String key, Limit limit, long now) {
+            Bucket b = map.get(key);
+            if (b == null) {
+                b = new Bucket();
+                b.tokens = limit.capacity;
+                b.lastRefillNanos = now;
+                map.put(key, b);
+            }
+            return b;
+        }
+    }
+}
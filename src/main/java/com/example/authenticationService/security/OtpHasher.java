@@ -0,0 +1,10 @@
+package com.example.authenticationService.security;
+
+// Hashing Strategy for Short-Lived One-Time Codes (Not Passwords)
+public interface OtpHasher {
+
+    String hash(String code);
+
+    // Must run in constant time with respect to the stored hash
+    boolean matches(String code, String storedHash);
+}
@@ -0,0 +1,62 @@
+package com.example.authenticationService.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Single declarative list of unauthenticated routes, shared by the security chain (permitAll)
+// and JwtAuthFilter (skip). Compiled once: literal paths go into a hash set for an O(1)
+// lookup, only wildcard patterns are kept as parsed PathPatterns.
+public final class PublicRoutes {
+
+    public static final List<String> PATTERNS = List.of(
+            // Auth Endpoints
+            "/auth/signup", "/auth/login", "/auth/logout", "/auth/refresh", "/auth/verify-otp", "/auth/resend-otp",
+            "/auth/login/2fa",
+            // Legacy Logout Path (Class Prefix Doubled); Older Clients Still Post Here
+            "/auth/auth/logout",
+            // Public Verification Keys
+            "/.well-known/jwks.json",
+            // Scrape Endpoints (Keep on the Management Port)
+            "/actuator/health", "/actuator/prometheus"
+    );
+
+    private static final Set<String> EXACT = new HashSet<>();
+    private static final List<PathPattern> WILDCARDS = new ArrayList<>();
+
+    static {
+        PathPatternParser parser = new PathPatternParser();
+        for (String pattern : PATTERNS) {
+            PathPattern parsed = parser.parse(pattern);
+            if (parsed.hasPatternSyntax()) {
+                WILDCARDS.add(parsed);
+            } else {
+                EXACT.add(pattern);
+            }
+        }
+    }
+
+    private PublicRoutes() { }
+
+    public static String[] patterns() {
+        return PATTERNS.toArray(String[]::new);
+    }
+
+    public static boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (EXACT.contains(path)) return true;
+        if (WILDCARDS.isEmpty()) return false;
+
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : WILDCARDS) {
+            if (pattern.matches(container)) return true;
+        }
+        return false;
+    }
+}
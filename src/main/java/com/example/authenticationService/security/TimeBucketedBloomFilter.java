@@ -0,0 +1,82 @@
+package com.example.authenticationService.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filters partitioned by expiry time: a key lands in the bucket of its own exp, and a
+// whole bucket is dropped once everything in it has expired, so memory tracks live revocations.
+// Lock-free: bits are set with CAS on an AtomicLongArray.
+public class TimeBucketedBloomFilter {
+
+    private final long bucketMillis;
+    private final int bits;
+    private final int hashes;
+    private final ConcurrentHashMap<Long, AtomicLongArray> buckets = new ConcurrentHashMap<>();
+
+    public TimeBucketedBloomFilter(long bucketMillis, int expectedPerBucket, double falsePositiveRate) {
+        this.bucketMillis = bucketMillis;
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-expectedPerBucket * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bits = (int) Math.max(64, Math.min(Integer.MAX_VALUE - 63, m));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedPerBucket * ln2));
+    }
+
+    public void put(String key, long expiresAtMillis) {
+        AtomicLongArray words = buckets.computeIfAbsent(bucketOf(expiresAtMillis), b -> new AtomicLongArray((bits + 63) / 64));
+        long h = hash64(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long old;
+            do {
+                old = words.get(word);
+                if ((old & mask) != 0) break;
+            } while (!words.compareAndSet(word, old, old | mask));
+        }
+    }
+
+    // False means definitely not present; true means "probably" (confirm elsewhere)
+    public boolean mightContain(String key, long expiresAtMillis) {
+        AtomicLongArray words = buckets.get(bucketOf(expiresAtMillis));
+        if (words == null) return false;
+        long h = hash64(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    // Drop buckets whose whole time range is in the past
+    public void expire(long nowMillis) {
+        long current = bucketOf(nowMillis);
+        buckets.keySet().removeIf(b -> b < current);
+    }
+
+    public int bucketCount() {
+        return buckets.size();
+    }
+
+    private long bucketOf(long millis) {
+        return Math.floorDiv(millis, bucketMillis);
+    }
+
+    // FNV-1a 64 with a final avalanche mix
+    private static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
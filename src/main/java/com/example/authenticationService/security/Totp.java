@@ -0,0 +1,107 @@
+package com.example.authenticationService.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.SecureRandom;
+
+// RFC 6238 TOTP with the parameters every authenticator app defaults to:
+// HMAC-SHA1, 30-second steps, 6 digits. Secrets travel as unpadded Base32 (RFC 4648).
+public final class Totp {
+
+    public static final int DIGITS = 6;
+    public static final long STEP_SECONDS = 30;
+    public static final String ALGORITHM = "HmacSHA1";
+
+    private static final int SECRET_BYTES = 20;
+    private static final int MODULUS = 1_000_000;
+    private static final char[] BASE32 = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+
+    private Totp() {
+    }
+
+    public static String newSecret(SecureRandom random) {
+        byte[] secret = new byte[SECRET_BYTES];
+        random.nextBytes(secret);
+        return base32Encode(secret);
+    }
+
+    public static long step(long epochMillis) {
+        return Math.floorDiv(epochMillis / 1000, STEP_SECONDS);
+    }
+
+    // RFC 4226 dynamic truncation of HMAC(key, step)
+    public static int code(Mac mac, byte[] key, long step) {
+        try {
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+        } catch (InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] counter = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            counter[i] = (byte) step;
+            step >>>= 8;
+        }
+        byte[] h = mac.doFinal(counter);
+        int offset = h[h.length - 1] & 0x0f;
+        int binary = ((h[offset] & 0x7f) << 24)
+                | ((h[offset + 1] & 0xff) << 16)
+                | ((h[offset + 2] & 0xff) << 8)
+                | (h[offset + 3] & 0xff);
+        return binary % MODULUS;
+    }
+
+    public static String format(int code) {
+        return String.format("%0" + DIGITS + "d", code);
+    }
+
+    // What authenticator apps scan (as a QR code) to enroll
+    public static String otpauthUri(String issuer, String account, String secret) {
+        String label = URLEncoder.encode(issuer + ":" + account, StandardCharsets.UTF_8).replace("+", "%20");
+        return "otpauth://totp/" + label
+                + "?secret=" + secret
+                + "&issuer=" + URLEncoder.encode(issuer, StandardCharsets.UTF_8).replace("+", "%20")
+                + "&algorithm=SHA1&digits=" + DIGITS + "&period=" + STEP_SECONDS;
+    }
+
+    public static String base32Encode(byte[] data) {
+        StringBuilder sb = new StringBuilder((data.length * 8 + 4) / 5);
+        int buffer = 0;
+        int bits = 0;
+        for (byte b : data) {
+            buffer = (buffer << 8) | (b & 0xff);
+            bits += 8;
+            while (bits >= 5) {
+                sb.append(BASE32[(buffer >>> (bits - 5)) & 31]);
+                bits -= 5;
+            }
+        }
+        if (bits > 0) sb.append(BASE32[(buffer << (5 - bits)) & 31]);
+        return sb.toString();
+    }
+
+    // Lenient About Case, Spaces and Padding (Users Retype Secrets by Hand)
+    public static byte[] base32Decode(String text) {
+        String s = text.replace(" ", "").replace("=", "").toUpperCase();
+        byte[] out = new byte[s.length() * 5 / 8];
+        int buffer = 0;
+        int bits = 0;
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            int value;
+            if (c >= 'A' && c <= 'Z') value = c - 'A';
+            else if (c >= '2' && c <= '7') value = c - '2' + 26;
+            else throw new IllegalArgumentException("Invalid Base32 character: " + c);
+            buffer = (buffer << 5) | value;
+            bits += 5;
+            if (bits >= 8) {
+                out[n++] = (byte) (buffer >>> (bits - 8));
+                bits -= 8;
+            }
+        }
+        return out;
+    }
+}
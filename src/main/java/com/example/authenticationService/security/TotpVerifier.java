@@ -0,0 +1,114 @@
+package com.example.authenticationService.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Checks a TOTP code purely in memory: a few HMACs over the user's secret for the steps within
+// ±window of now. Replay protection (RFC 6238 §5.2) is one long per user, the last step that
+// was accepted: a code is only good for a step after it. Entries older than the window carry
+// no information and are purged, so the map holds only users who passed 2FA in the last minute or two.
+// Per node: with several instances behind a balancer, a code can be replayed once per node within the window.
+@Component
+public class TotpVerifier {
+
+    public enum Outcome { VERIFIED, INVALID, REPLAYED }
+
+    private final int window;
+    private final Clock clock;
+    private final ConcurrentHashMap<Long, Long> lastUsedStep = new ConcurrentHashMap<>();
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(Totp.ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+
+    // System Clock Unless the Context Defines One (Tests Step Through Time With Their Own)
+    @Autowired
+    public TotpVerifier(@Value("${security.totp.window:1}") int window, ObjectProvider<Clock> clock) {
+        this(window, clock.getIfAvailable(Clock::systemUTC));
+    }
+
+    TotpVerifier(int window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    public Outcome verify(long userId, String secret, String code) {
+        return verify(userId, secret, code, clock.millis());
+    }
+
+    Outcome verify(long userId, String secret, String code, long nowMillis) {
+        int presented = parse(code);
+        if (presented < 0) {
+            invalid.increment();
+            return Outcome.INVALID;
+        }
+
+        byte[] key = Totp.base32Decode(secret);
+        long now = Totp.step(nowMillis);
+        // No Early Exit: Every Candidate Step Costs the Same, Whichever One Matches
+        long matched = Long.MIN_VALUE;
+        for (long step = now - window; step <= now + window; step++) {
+            if (Totp.code(mac.get(), key, step) == presented) matched = step;
+        }
+        if (matched == Long.MIN_VALUE) {
+            invalid.increment();
+            return Outcome.INVALID;
+        }
+
+        if (!claim(userId, matched)) {
+            replayed.increment();
+            return Outcome.REPLAYED;
+        }
+        verified.increment();
+        return Outcome.VERIFIED;
+    }
+
+    // Atomically Advance the User's Last Step, or Refuse if it's Already There or Past It
+    private boolean claim(long userId, long step) {
+        boolean[] accepted = new boolean[1];
+        lastUsedStep.compute(userId, (id, last) -> {
+            if (last != null && last >= step) return last;
+            accepted[0] = true;
+            return step;
+        });
+        return accepted[0];
+    }
+
+    @Scheduled(fixedDelayString = "${security.totp.replay-purge-interval-ms:60000}")
+    public void purge() {
+        long oldest = Totp.step(clock.millis()) - window;
+        lastUsedStep.values().removeIf(step -> step < oldest);
+    }
+
+    private static int parse(String code) {
+        if (code == null || code.length() != Totp.DIGITS) return -1;
+        int value = 0;
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    public int getReplayCacheSize() { return lastUsedStep.size(); }
+    public long getVerifiedCount() { return verified.sum(); }
+    public long getInvalidCount() { return invalid.sum(); }
+    public long getReplayedCount() { return replayed.sum(); }
+}
@@ -0,0 +1,133 @@
+package com.example.authenticationService.security;
+
+import com.example.authenticationService.metrics.AuthMetrics;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Optional cache of already-verified bearer tokens, keyed by SHA-256 of the token.
+// Each entry lives until the token's own exp, so a hit never outlives the token.
+@Component
+public class VerifiedTokenCache {
+
+    private record Entry(Claims claims, long expiresAtMillis) { }
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final AuthMetrics metrics;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.cache.max-size:10000}") int maxSize,
+                              JwtTokenProvider jwtTokenProvider,
+                              AuthMetrics metrics) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.metrics = metrics;
+    }
+
+    // Cached Claims on Hit, Otherwise Full Signature Verification
+    public Optional<Claims> verify(String token) {
+        if (!enabled) {
+            return timedVerify(token);
+        }
+
+        Key key = Key.of(token);
+        long now = System.currentTimeMillis();
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAtMillis() > now) {
+                hits.increment();
+                return Optional.of(entry.claims());
+            }
+            if (entries.remove(key, entry)) evictions.increment();
+        }
+
+        misses.increment();
+        Optional<Claims> claims = timedVerify(token);
+        claims.filter(c -> c.getExpiration() != null).ifPresent(c -> {
+            if (entries.size() >= maxSize) evict(now);
+            entries.put(key, new Entry(c, c.getExpiration().getTime()));
+        });
+        return claims;
+    }
+
+    private Optional<Claims> timedVerify(String token) {
+        long start = System.nanoTime();
+        Optional<Claims> claims = jwtTokenProvider.verify(token);
+        metrics.jwtVerify(System.nanoTime() - start);
+        return claims;
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    // Expired entries go first; if still full, drop arbitrary ones down to 90% capacity.
+    // Only one thread sweeps at a time, readers are never blocked.
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            entries.entrySet().removeIf(e -> {
+                boolean expired = e.getValue().expiresAtMillis() <= now;
+                if (expired) evictions.increment();
+                return expired;
+            });
+            int target = maxSize - Math.max(1, maxSize / 10);
+            Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public int size() { return entries.size(); }
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+
+    // 256-bit digest packed into four longs: cheap equals/hashCode, and the raw token is never retained
+    private record Key(long a, long b, long c, long d) {
+        static Key of(String token) {
+            byte[] h = SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+            return new Key(longAt(h, 0), longAt(h, 8), longAt(h, 16), longAt(h, 24));
+        }
+
+        private static long longAt(byte[] b, int off) {
+            long v = 0;
+            for (int i = off; i < off + 8; i++) v = (v << 8) | (b[i] & 0xFF);
+            return v;
+        }
+    }
+}
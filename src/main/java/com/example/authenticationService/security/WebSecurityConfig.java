@@ -1,11 +1,17 @@
 package com.example.authenticationService.security;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -13,13 +19,22 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Configuration
 public class WebSecurityConfig {
+    private static final Logger log = LoggerFactory.getLogger(WebSecurityConfig.class);
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
 
     @Autowired
     private JwtAuthFilter jwtAuthFilter;
 
+    // Tokens carry no roles yet, so admin access is an allow-list of usernames
+    @Value("${security.admin.usernames:}")
+    private Set<String> adminUsernames;
+
     //Remove for Production
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
@@ -39,14 +54,41 @@ public class WebSecurityConfig {
         http
                 .csrf(csrf -> csrf.disable()) // For Postman Testing Only (Remove for Actual Use)
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/signup", "/auth/login", "/auth/logout", "/auth/verify-otp", "/auth/resend-otp").permitAll() // Public Endpoints
+                        .requestMatchers(PublicRoutes.patterns()).permitAll() // Public Endpoints (See PublicRoutes)
+                        .requestMatchers("/admin/**").access((authentication, context) -> new AuthorizationDecision(
+                                authentication.get() instanceof UsernamePasswordAuthenticationToken token
+                                        && adminUsernames.contains(token.getName()))) // Admin Allow-List
                         .anyRequest().authenticated() // The Rest, Lock It
                 ).addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);;
         return http.build();
     }
 
+    // Hashes are stored as {bcrypt}...; legacy un-prefixed BCrypt hashes still match and are flagged
+    // for rehash, as are hashes whose cost is below the configured strength
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.target-hash-ms:0}") long targetHashMs) {
+        int effectiveStrength = targetHashMs > 0 ? calibrateBcryptStrength(targetHashMs) : strength;
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(effectiveStrength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    // Highest Strength Whose Measured Hash Time Stays Within the Target (Never Below the Minimum)
+    private static int calibrateBcryptStrength(long targetHashMs) {
+        int strength = MIN_BCRYPT_STRENGTH;
+        new BCryptPasswordEncoder(strength).encode("warmup");
+
+        while (strength < MAX_BCRYPT_STRENGTH) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(strength + 1).encode("calibration");
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            if (elapsedMs > targetHashMs) break;
+            strength++;
+        }
+        log.info("Calibrated BCrypt strength {} for a {} ms target", strength, targetHashMs);
+        return strength;
     }
 }
@@ -1,41 +1,43 @@
 package com.example.authenticationService.service;
 
-import com.example.authenticationService.dto.AuthorizationResponse;
-import com.example.authenticationService.dto.SignupRequest;
+import com.example.authenticationService.datasource.ReadYourWrites;
 import com.example.authenticationService.model.User;
 import com.example.authenticationService.repository.UserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import jakarta.transaction.Transactional;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final OtpService otpService;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AuthService(UserRepository userRepository, OtpService otpService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.otpService = otpService;
+    }
+
+    // One transaction: user insert + OTP insert. Duplicates are detected by the unique
+    // constraints (DataIntegrityViolationException) instead of racy exists-checks.
+    @Transactional
+    public User register(User user) {
+        userRepository.saveAndFlush(user);
+        otpService.createAndSendInitialSignupOtp(user);
+        return user;
     }
 
-    public AuthorizationResponse signup(SignupRequest request) {
-        // Check if username/email already exists
-        if (userRepository.existsByUsername(request.getUsername())) {
-            return new AuthorizationResponse("Username Already Taken");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            return new AuthorizationResponse("Email Already Taken");
-        }
-
-        // Create User
-        User user = User.builder()
-                .username(request.getUsername())
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .build();
-
-        userRepository.save(user);
-
-        return new AuthorizationResponse("User Registered Successfully");
+    // Map a Unique-Constraint Violation from register() to the Field That Clashed
+    public String duplicateMessage(DataIntegrityViolationException ex, User attempted) {
+        String detail = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (detail.contains(User.UK_USERNAME)) return "Username Already Exists";
+        if (detail.contains(User.UK_EMAIL)) return "Email Already Exists";
+
+        // Constraint created under another name (e.g. older schema): fall back to a lookup, only on this failure path
+        // The clashing row may be too new for a replica, so ask the primary
+        return ReadYourWrites.onPrimary(() -> userRepository.existsByUsername(attempted.getUsername()))
+                ? "Username Already Exists" : "Email Already Exists";
     }
 }
@@ -0,0 +1,201 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.metrics.AuthMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Outbound mail pipeline: bounded queue drained in batches by a small worker pool,
+// so request threads never wait on SMTP.
+@Component
+public class MailDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private final JavaMailSender mailSender;
+    private final BlockingQueue<SimpleMailMessage> queue;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final boolean virtualThreads;
+    private final AuthMetrics metrics;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    // Backpressure Metrics
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public MailDispatcher(JavaMailSender mailSender,
+                          AuthMetrics metrics,
+                          @Value("${mail.dispatch.queue-capacity:1000}") int queueCapacity,
+                          @Value("${mail.dispatch.workers:2}") int workers,
+                          @Value("${mail.dispatch.batch-size:20}") int batchSize,
+                          @Value("${mail.dispatch.max-attempts:3}") int maxAttempts,
+                          @Value("${mail.dispatch.initial-backoff-ms:500}") long initialBackoffMs,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.mailSender = mailSender;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.virtualThreads = virtualThreads;
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    void start() {
+        // SMTP sends are pure blocking I/O, so workers can be virtual threads in virtual-thread mode
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("mail-dispatch-", 1).factory()
+                : Thread.ofPlatform().name("mail-dispatch-", 1).daemon(true).factory();
+        executor = Executors.newFixedThreadPool(workers, threadFactory);
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::drainLoop);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Mail dispatcher stopped with {} undelivered message(s)", queue.size());
+        }
+    }
+
+    // Hand the message over only once the surrounding transaction has committed,
+    // so a rolled-back signup never sends a code for a token that doesn't exist.
+    public void dispatchAfterCommit(SimpleMailMessage message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(message);
+                }
+            });
+        } else {
+            dispatch(message);
+        }
+    }
+
+    // Non-blocking; returns false if the queue is full and the message was dropped
+    public boolean dispatch(SimpleMailMessage message) {
+        if (!queue.offer(message)) {
+            rejected.incrementAndGet();
+            log.warn("Mail queue full ({} pending), dropping message to {}", queue.size(), (Object) message.getTo());
+            return false;
+        }
+        enqueued.incrementAndGet();
+        return true;
+    }
+
+    // For bulk producers: waits up to `maxWait` for room instead of dropping at once
+    public boolean dispatch(SimpleMailMessage message, Duration maxWait) throws InterruptedException {
+        if (!queue.offer(message, Math.max(0, maxWait.toNanos()), TimeUnit.NANOSECONDS)) {
+            rejected.incrementAndGet();
+            log.warn("Mail queue still full after {} ms, dropping message to {}", maxWait.toMillis(), (Object) message.getTo());
+            return false;
+        }
+        enqueued.incrementAndGet();
+        return true;
+    }
+
+    private void drainLoop() {
+        List<SimpleMailMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                SimpleMailMessage first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // One send() call per batch lets JavaMailSenderImpl reuse a single SMTP connection
+    private void sendWithRetry(List<SimpleMailMessage> batch) throws InterruptedException {
+        List<SimpleMailMessage> pending = batch;
+        long backoff = initialBackoffMs;
+
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                mailSender.send(pending.toArray(new SimpleMailMessage[0]));
+                metrics.mailSend(System.nanoTime() - start);
+                sent.addAndGet(pending.size());
+                return;
+            } catch (MailException e) {
+                metrics.mailSend(System.nanoTime() - start);
+                List<SimpleMailMessage> failedMessages = failedMessages(e, pending);
+                sent.addAndGet(pending.size() - failedMessages.size());
+
+                if (attempt >= maxAttempts) {
+                    failed.addAndGet(failedMessages.size());
+                    log.error("Giving up on {} message(s) after {} attempts", failedMessages.size(), attempt, e);
+                    return;
+                }
+                retried.addAndGet(failedMessages.size());
+                log.warn("Mail send failed (attempt {}/{}), retrying {} message(s) in {} ms",
+                        attempt, maxAttempts, failedMessages.size(), backoff);
+                pending = failedMessages;
+                Thread.sleep(backoff);
+                backoff *= 2;
+            }
+        }
+    }
+
+    private static List<SimpleMailMessage> failedMessages(MailException e, List<SimpleMailMessage> attempted) {
+        if (e instanceof MailSendException sendException && !sendException.getFailedMessages().isEmpty()) {
+            List<SimpleMailMessage> result = new ArrayList<>();
+            for (Object msg : sendException.getFailedMessages().keySet()) {
+                if (msg instanceof SimpleMailMessage simple) result.add(simple);
+            }
+            if (!result.isEmpty()) return result;
+        }
+        return new ArrayList<>(attempted);
+    }
+
+    public int getQueueDepth() { return queue.size(); }
+    public int getRemainingCapacity() { return queue.remainingCapacity(); }
+    public long getEnqueuedCount() { return enqueued.get(); }
+    public long getSentCount() { return sent.get(); }
+    public long getRetriedCount() { return retried.get(); }
+    public long getFailedCount() { return failed.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+}
@@ -1,21 +1,31 @@
 package com.example.authenticationService.service;
 
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Service
 public class MailService {
-    private final JavaMailSender mailSender;
+    private final MailDispatcher mailDispatcher;
 
-    public MailService(JavaMailSender mailSender) { this.mailSender = mailSender; }
+    public MailService(MailDispatcher mailDispatcher) { this.mailDispatcher = mailDispatcher; }
 
+    // Queued for the dispatcher once the caller's transaction commits; never blocks on SMTP
     public void sendOtpEmail(String to, String code) {
+        mailDispatcher.dispatchAfterCommit(otpMessage(to, code));
+    }
+
+    // Bulk Import: Queued Right Away (Call After Commit), Waiting up to `maxWait` for Room; False if Dropped
+    public boolean queueOtpEmail(String to, String code, Duration maxWait) throws InterruptedException {
+        return mailDispatcher.dispatch(otpMessage(to, code), maxWait);
+    }
+
+    private static SimpleMailMessage otpMessage(String to, String code) {
         SimpleMailMessage msg = new SimpleMailMessage();
         msg.setTo(to);
         msg.setSubject("Account Activation");
         msg.setText("Your verification code is: " + code + "\nThis code expires in 10 minutes.");
-        mailSender.send(msg);
+        return msg;
     }
 }
-
@@ -1,104 +1,215 @@
 package com.example.authenticationService.service;
 
+import com.example.authenticationService.audit.AuditEvent;
+import com.example.authenticationService.audit.AuditLog;
+import com.example.authenticationService.metrics.AuthMetrics;
+import com.example.authenticationService.metrics.AuthMetrics.OtpOutcome;
 import com.example.authenticationService.model.OtpPurpose;
 import com.example.authenticationService.model.OtpToken;
 import com.example.authenticationService.model.User;
-import com.example.authenticationService.repository.OtpTokenRepository;
+import com.example.authenticationService.repository.OtpStore;
+import com.example.authenticationService.repository.UserRepository;
+import com.example.authenticationService.security.OtpHasher;
 import jakarta.transaction.Transactional;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class OtpService {
     private static final int OTP_LENGTH = 6;
     private static final Duration OTP_TTL = Duration.ofMinutes(10);
-    private static final int MAX_ATTEMPTS = 5;
+    static final int MAX_ATTEMPTS = 5;
     private static final Duration RESEND_COOLDOWN = Duration.ofSeconds(60);
 
     private final SecureRandom random = new SecureRandom();
-    private final OtpTokenRepository otpRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final OtpStore otpStore;
+    private final UserRepository userRepository;
+    private final OtpHasher otpHasher;
     private final MailService mailService;
-
-    public OtpService(OtpTokenRepository otpRepo,
-                      PasswordEncoder passwordEncoder,
-                      MailService mailService) {
-        this.otpRepo = otpRepo;
-        this.passwordEncoder = passwordEncoder;
+    private final AuthMetrics metrics;
+    private final UserProfileCache userProfileCache;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditLog auditLog;
+
+    // Resend Leaders by User id; Entries Live Only While a Resend Runs
+    private final Map<Long, CompletableFuture<Long>> resendsInFlight = new ConcurrentHashMap<>();
+
+    public OtpService(OtpStore otpStore,
+                      UserRepository userRepository,
+                      OtpHasher otpHasher,
+                      MailService mailService,
+                      AuthMetrics metrics,
+                      UserProfileCache userProfileCache,
+                      TransactionTemplate transactionTemplate,
+                      AuditLog auditLog) {
+        this.otpStore = otpStore;
+        this.userRepository = userRepository;
+        this.otpHasher = otpHasher;
         this.mailService = mailService;
+        this.metrics = metrics;
+        this.userProfileCache = userProfileCache;
+        this.transactionTemplate = transactionTemplate;
+        this.auditLog = auditLog;
     }
 
+    // Issue a fresh code now, replacing any pending one (no cooldown: resends go through resendSignupOtp)
     @Transactional
     public void createAndSendSignupOtp(User user) {
-        // Throttle resends: if latest unconsumed exists and < 60s since last send, reject
-        otpRepo.findTopByUserIdAndPurposeAndConsumedAtIsNullOrderByCreatedAtDesc(user.getId(), OtpPurpose.SIGNUP)
-                .ifPresent(latest -> {
-                    if (Duration.between(latest.getLastSentAt(), Instant.now()).compareTo(RESEND_COOLDOWN) < 0) {
-                        throw new IllegalStateException("Please wait before requesting another code.");
-                    }
-                });
+        String code = generateNumericCode();
+        otpStore.issue(newSignupToken(user, code)); // Also consumes older unconsumed tokens
+
+        // Sent asynchronously after commit. DEV NOTE: do NOT log the code in prod. For Postman-only testing, the email is your source of truth.
+        mailService.sendOtpEmail(user.getEmail(), code);
+    }
 
+    // Fresh signup: no earlier token can exist, so skip the cooldown lookup and consume update
+    @Transactional
+    public void createAndSendInitialSignupOtp(User newUser) {
         String code = generateNumericCode();
-        String hash = passwordEncoder.encode(code);
+        otpStore.insert(newSignupToken(newUser, code));
+        mailService.sendOtpEmail(newUser.getEmail(), code);
+    }
 
-        // Remove Unconsumed Tokens
-        otpRepo.consumeAllForUser(user.getId(), OtpPurpose.SIGNUP, Instant.now());
+    // Bulk import: one batch of tokens for users created in the caller's transaction. Returns the codes
+    // (same order as `newUsers`); the importer queues the mails itself after commit, at the queue's pace
+    @Transactional
+    public List<String> createInitialSignupOtps(List<User> newUsers) {
+        List<OtpToken> tokens = new ArrayList<>(newUsers.size());
+        List<String> codes = new ArrayList<>(newUsers.size());
+        for (User user : newUsers) {
+            String code = generateNumericCode();
+            codes.add(code);
+            tokens.add(newSignupToken(user, code));
+        }
+        otpStore.insertAll(tokens);
+        return codes;
+    }
 
-        OtpToken token = new OtpToken();
-        token.setUser(user);
-        token.setOtpHash(hash);
-        token.setPurpose(OtpPurpose.SIGNUP);
-        token.setExpiresAt(Instant.now().plus(OTP_TTL));
-        token.setLastSentAt(Instant.now());
-        otpRepo.save(token);
+    // Single-flight per user: concurrent resends for the same user produce one token and one email.
+    // Returns 0 when this call sent the code, else the seconds until a resend is allowed.
+    public long resendSignupOtp(User user) {
+        CompletableFuture<Long> mine = new CompletableFuture<>();
+        CompletableFuture<Long> inFlight = resendsInFlight.putIfAbsent(user.getId(), mine);
+        if (inFlight != null) {
+            metrics.resendCoalesced();
+            auditLog.record(AuditEvent.Type.OTP_RESEND, user.getUsername(), "COALESCED");
+            try {
+                // Answered as if They'd Arrived Just After the Leader: its Send Started the Cooldown
+                long leader = inFlight.join();
+                return leader > 0 ? leader : retryAfterSeconds(RESEND_COOLDOWN);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
 
-        // DEV NOTE: do NOT log the code in prod. For Postman-only testing, the email is your source of truth.
-        mailService.sendOtpEmail(user.getEmail(), code);
+        try {
+            // Completed after commit, so joiners return only once the mail is queued
+            Long retryAfter = transactionTemplate.execute(status -> claimAndResend(user));
+            mine.complete(retryAfter);
+            auditLog.record(AuditEvent.Type.OTP_RESEND, user.getUsername(), retryAfter > 0 ? "COOLDOWN" : "SENT");
+            return retryAfter;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            resendsInFlight.remove(user.getId(), mine);
+        }
     }
 
-    @Transactional
-    public void resendSignupOtp(User user) {
-        var existing = otpRepo.findTopByUserIdAndPurposeAndConsumedAtIsNullOrderByCreatedAtDesc(user.getId(), OtpPurpose.SIGNUP);
-        if (existing.isPresent()) {
-            OtpToken t = existing.get();
-            if (Duration.between(t.getLastSentAt(), Instant.now()).compareTo(RESEND_COOLDOWN) < 0) {
-                throw new IllegalStateException("Please wait before requesting another code.");
+    // One read; the cooldown is then enforced by a conditional update, which also covers other nodes
+    private long claimAndResend(User user) {
+        Instant now = Instant.now();
+        var latest = otpStore.findLatestActive(user.getId(), OtpPurpose.SIGNUP);
+        if (latest.isPresent()) {
+            Instant sentAt = latest.get().getLastSentAt();
+            Duration sinceSent = Duration.between(sentAt, now);
+            if (sinceSent.compareTo(RESEND_COOLDOWN) < 0) {
+                metrics.resendCooldown();
+                return retryAfterSeconds(RESEND_COOLDOWN.minus(sinceSent));
+            }
+            if (!otpStore.tryClaimResend(latest.get(), now.minus(RESEND_COOLDOWN), now)) {
+                // Someone Else Sent Just Now
+                metrics.resendCooldown();
+                return retryAfterSeconds(RESEND_COOLDOWN);
             }
         }
         createAndSendSignupOtp(user);
+        return 0;
     }
 
-    @Transactional
+    private static long retryAfterSeconds(Duration remaining) {
+        return Math.max(1, (remaining.toMillis() + 999) / 1000);
+    }
+
+    // Failed attempts must stay counted, so the expected rejections don't roll the transaction back
+    @Transactional(dontRollbackOn = {IllegalArgumentException.class, IllegalStateException.class})
     public void verifySignupOtp(User email, String code) {
-        OtpToken token = otpRepo.findTopByUserIdAndPurposeAndConsumedAtIsNullOrderByCreatedAtDesc(email.getId(), OtpPurpose.SIGNUP)
-                .orElseThrow(() -> new IllegalArgumentException("No Pending Verification."));
+        OtpToken token = otpStore.findLatestActive(email.getId(), OtpPurpose.SIGNUP)
+                .orElseThrow(() -> {
+                    otpOutcome(email, OtpOutcome.NO_PENDING);
+                    return new IllegalArgumentException("No Pending Verification.");
+                });
 
-        if (token.getConsumedAt() != null) throw new IllegalStateException("Code already used.");
-        if (Instant.now().isAfter(token.getExpiresAt())) throw new IllegalStateException("Code expired.");
+        // One conditional update: unconsumed, unexpired and under the limit, or nothing changes.
+        // Parallel guesses can't exceed the limit; the loaded token only explains a refusal.
+        Instant now = Instant.now();
+        if (!otpStore.tryIncrementAttempts(token, MAX_ATTEMPTS, now)) {
+            if (!now.isBefore(token.getExpiresAt())) {
+                otpOutcome(email, OtpOutcome.EXPIRED);
+                throw new IllegalStateException("Code expired.");
+            }
+            // Out of Attempts (Possibly Used Up by Parallel Guesses Since We Read It) or Consumed Meanwhile
+            otpOutcome(email, OtpOutcome.TOO_MANY_ATTEMPTS);
+            throw new IllegalStateException("Too many attempts. Request a new code.");
+        }
 
-        if (token.getAttempts() >= MAX_ATTEMPTS) throw new IllegalStateException("Too many attempts. Request a new code.");
+        if (!otpHasher.matches(code, token.getOtpHash())) {
+            otpOutcome(email, OtpOutcome.INVALID);
+            throw new IllegalArgumentException("Invalid code.");
+        }
 
-        // increment attempts regardless of outcome
-        token.setAttempts(token.getAttempts() + 1);
+        // Success: exactly one caller consumes the token...
+        if (!otpStore.consume(token, now)) {
+            otpOutcome(email, OtpOutcome.ALREADY_USED);
+            throw new IllegalStateException("Code already used.");
+        }
 
-        if (!passwordEncoder.matches(code, token.getOtpHash())) {
-            otpRepo.save(token);
-            throw new IllegalArgumentException("Invalid code.");
+        // ...and activates the user, only if still PENDING (never resurrects a suspended account)
+        if (userRepository.activatePending(email.getId(), now) == 1) {
+            otpOutcome(email, OtpOutcome.VERIFIED);
+            userProfileCache.invalidateAfterCommit(email.getUsername());
+        } else {
+            otpOutcome(email, OtpOutcome.ALREADY_USED);
+            throw new IllegalStateException("Account is not pending verification.");
         }
+    }
 
-        // success: consume token + activate user
-        token.setConsumedAt(Instant.now());
-        otpRepo.save(token);
+    private void otpOutcome(User user, OtpOutcome outcome) {
+        metrics.otp(outcome);
+        auditLog.record(AuditEvent.Type.OTP_VERIFY, user.getUsername(), outcome.name());
+    }
 
-        email.setStatus(User.UserStatus.ACTIVE);
-        email.setEmailVerifiedAt(Instant.now());
+    OtpToken newSignupToken(User user, String code) {
+        OtpToken token = new OtpToken();
+        token.setUser(user);
+        token.setOtpHash(otpHasher.hash(code));
+        token.setPurpose(OtpPurpose.SIGNUP);
+        token.setExpiresAt(Instant.now().plus(OTP_TTL));
+        token.setLastSentAt(Instant.now());
+        return token;
     }
 
-    private String generateNumericCode() {
+    String generateNumericCode() {
         // 000000–999999 with leading zeros
         int num = random.nextInt(1_000_000);
         return String.format("%06d", num);
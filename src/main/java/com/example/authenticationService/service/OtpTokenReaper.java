@@ -0,0 +1,99 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.repository.OtpTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Deletes otp_tokens rows past the retention window in small keyset batches, one short
+// transaction each with a pause in between, so the table is never locked for long.
+// Consumed tokens always have an expiresAt, so "expired before the cutoff" covers both cases.
+@Service
+@ConditionalOnProperty(name = "otp.store", havingValue = "jpa", matchIfMissing = true)
+public class OtpTokenReaper {
+    private static final Logger log = LoggerFactory.getLogger(OtpTokenReaper.class);
+
+    private final OtpTokenRepository otpRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final long pauseMs;
+    private final int maxBatchesPerRun;
+
+    // Metrics
+    private final AtomicLong purgedTotal = new AtomicLong();
+    private final AtomicLong lastBatchMillis = new AtomicLong();
+    private final AtomicLong backlog = new AtomicLong();
+
+    public OtpTokenReaper(OtpTokenRepository otpRepo,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${otp.purge.retention:P1D}") Duration retention,
+                          @Value("${otp.purge.batch-size:500}") int batchSize,
+                          @Value("${otp.purge.pause-ms:50}") long pauseMs,
+                          @Value("${otp.purge.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.otpRepo = otpRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${otp.purge.interval-ms:300000}", initialDelayString = "${otp.purge.initial-delay-ms:60000}")
+    public void purge() {
+        Instant cutoff = Instant.now().minus(retention);
+        backlog.set(otpRepo.countByExpiresAtBefore(cutoff));
+
+        Instant from = Instant.EPOCH;
+        long purgedThisRun = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            long start = System.nanoTime();
+            List<Object[]> rows = otpRepo.findPurgeable(from, cutoff, PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) break;
+
+            List<String> ids = new ArrayList<>(rows.size());
+            for (Object[] row : rows) ids.add((String) row[0]);
+            from = (Instant) rows.get(rows.size() - 1)[1];
+
+            Integer deleted = transactionTemplate.execute(status -> otpRepo.deleteByIdIn(ids));
+            int count = deleted == null ? 0 : deleted;
+
+            lastBatchMillis.set((System.nanoTime() - start) / 1_000_000);
+            purgedTotal.addAndGet(count);
+            backlog.addAndGet(-count);
+            purgedThisRun += count;
+
+            if (rows.size() < batchSize) break;
+            if (!pause()) break;
+        }
+
+        if (purgedThisRun > 0) {
+            log.info("Purged {} OTP token(s) expired before {}; {} remaining", purgedThisRun, cutoff, Math.max(0, backlog.get()));
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public long getPurgedTotal() { return purgedTotal.get(); }
+    public long getLastBatchMillis() { return lastBatchMillis.get(); }
+    public long getBacklog() { return Math.max(0, backlog.get()); }
+}
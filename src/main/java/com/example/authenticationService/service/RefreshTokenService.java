@@ -0,0 +1,114 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.metrics.AuthMetrics;
+import com.example.authenticationService.model.RefreshToken;
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.repository.RefreshTokenRepository;
+import com.example.authenticationService.repository.UserRepository;
+import com.example.authenticationService.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Refresh-token rotation: every refresh spends the presented token and issues a new one in the
+// same family. Presenting an already-spent token means it leaked, so the whole family is revoked.
+@Service
+public class RefreshTokenService {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    public record TokenPair(String accessToken, String refreshToken) { }
+
+    private final RefreshTokenRepository refreshRepo;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final AuthMetrics metrics;
+
+    @Value("${jwt.profile-claims.enabled:false}")
+    private boolean profileClaims;
+
+    public RefreshTokenService(RefreshTokenRepository refreshRepo,
+                               UserRepository userRepository,
+                               JwtTokenProvider jwtTokenProvider,
+                               AuthMetrics metrics) {
+        this.refreshRepo = refreshRepo;
+        this.userRepository = userRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.metrics = metrics;
+    }
+
+    // Login: New Family
+    @Transactional
+    public TokenPair issue(User user) {
+        return newPair(user, UUID.randomUUID().toString());
+    }
+
+    // Reuse detection must survive the 401, so the family revocation is not rolled back
+    @Transactional(dontRollbackOn = ResponseStatusException.class)
+    public TokenPair rotate(String refreshToken) {
+        Claims claims = jwtTokenProvider.verify(refreshToken)
+                .filter(JwtTokenProvider::isRefreshToken)
+                .orElseThrow(() -> unauthorized("Invalid Refresh Token"));
+
+        Instant now = Instant.now();
+        if (refreshRepo.markUsed(claims.getId(), now) != 1) {
+            String family = claims.get(JwtTokenProvider.CLAIM_FAMILY, String.class);
+            if (refreshRepo.existsById(claims.getId())) {
+                int revoked = refreshRepo.revokeFamily(family, now);
+                log.warn("Refresh token reuse for '{}'; revoked {} token(s) in family {}", claims.getSubject(), revoked, family);
+            }
+            throw unauthorized("Invalid Refresh Token");
+        }
+
+        User user = userRepository.findByUsername(claims.getSubject())
+                .filter(u -> u.getStatus() == User.UserStatus.ACTIVE)
+                .orElseThrow(() -> unauthorized("Account is not Active"));
+
+        return newPair(user, claims.get(JwtTokenProvider.CLAIM_FAMILY, String.class));
+    }
+
+    // Logout: Kill the Whole Family Behind a Refresh Token
+    @Transactional
+    public void revokeFamily(String refreshToken) {
+        jwtTokenProvider.verify(refreshToken)
+                .filter(JwtTokenProvider::isRefreshToken)
+                .ifPresent(c -> refreshRepo.revokeFamily(c.get(JwtTokenProvider.CLAIM_FAMILY, String.class), Instant.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        refreshRepo.deleteExpiredBefore(Instant.now());
+    }
+
+    private TokenPair newPair(User user, String family) {
+        String jti = UUID.randomUUID().toString();
+
+        // auth.jwt{op=sign}: Both Signatures, Not the Row Insert Below
+        long signStart = System.nanoTime();
+        String refresh = jwtTokenProvider.generateRefreshToken(user.getUsername(), family, jti);
+        String access = jwtTokenProvider.generateToken(user, profileClaims);
+        metrics.jwtSign(System.nanoTime() - signStart);
+
+        RefreshToken row = new RefreshToken();
+        row.setId(jti);
+        row.setFamily(family);
+        row.setUsername(user.getUsername());
+        row.setExpiresAt(Instant.now().plus(jwtTokenProvider.getRefreshTtl()));
+        refreshRepo.save(row);
+
+        return new TokenPair(access, refresh);
+    }
+
+    private static ResponseStatusException unauthorized(String message) {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, message);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.model.RevokedToken;
+import com.example.authenticationService.repository.RevokedTokenRepository;
+import com.example.authenticationService.security.TimeBucketedBloomFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Access-token revocation by jti. The revoked_tokens table is the source of truth; each node
+// keeps a time-bucketed Bloom filter of it, so the per-request check is an in-memory probe and
+// only a (rare) positive touches the DB. Other nodes' revocations arrive via periodic sync.
+// A revoked token tends to be presented again and again until it expires, so confirmed
+// revocations are remembered (bounded, until the token's exp) and only the first positive pays a query.
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedRepo;
+    private final TimeBucketedBloomFilter filter;
+    private final Duration syncOverlap;
+    private final int confirmedMaxSize;
+    // jti -> exp (epoch millis) of revocations known for certain
+    private final ConcurrentHashMap<String, Long> confirmed = new ConcurrentHashMap<>();
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    private final LongAdder filterNegatives = new LongAdder();
+    private final LongAdder confirmedHits = new LongAdder();
+    private final LongAdder confirmedRevoked = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public TokenRevocationService(RevokedTokenRepository revokedRepo,
+                                  @Value("${jwt.revocation.bucket:PT15M}") Duration bucket,
+                                  @Value("${jwt.revocation.expected-per-bucket:10000}") int expectedPerBucket,
+                                  @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+                                  @Value("${jwt.revocation.sync-overlap:PT5S}") Duration syncOverlap,
+                                  @Value("${jwt.revocation.confirmed-max-size:10000}") int confirmedMaxSize) {
+        this.revokedRepo = revokedRepo;
+        this.filter = new TimeBucketedBloomFilter(bucket.toMillis(), expectedPerBucket, falsePositiveRate);
+        this.syncOverlap = syncOverlap;
+        this.confirmedMaxSize = confirmedMaxSize;
+    }
+
+    @PostConstruct
+    void load() {
+        Instant now = Instant.now();
+        revokedRepo.findByExpiresAtAfter(now).forEach(this::addToFilter);
+        lastSync = now;
+    }
+
+    @Transactional
+    public void revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null) return;
+        revokedRepo.save(new RevokedToken(jti, expiresAt.toInstant(), Instant.now()));
+        filter.put(jti, expiresAt.getTime());
+        remember(jti, expiresAt.getTime());
+    }
+
+    public boolean isRevoked(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null) return false;
+        if (!filter.mightContain(jti, expiresAt.getTime())) {
+            filterNegatives.increment();
+            return false;
+        }
+        if (confirmed.containsKey(jti)) {
+            confirmedHits.increment();
+            return true;
+        }
+        boolean revoked = revokedRepo.existsById(jti);
+        if (revoked) {
+            confirmedRevoked.increment();
+            remember(jti, expiresAt.getTime());
+        } else {
+            falsePositives.increment();
+        }
+        return revoked;
+    }
+
+    // Pick Up Revocations Made on Other Nodes
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:10000}")
+    public void sync() {
+        Instant now = Instant.now();
+        revokedRepo.findByRevokedAtAfter(lastSync.minus(syncOverlap)).forEach(this::addToFilter);
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        filter.expire(now.toEpochMilli());
+        confirmed.values().removeIf(exp -> exp <= now.toEpochMilli());
+        revokedRepo.deleteExpiredBefore(now);
+    }
+
+    private void addToFilter(RevokedToken t) {
+        filter.put(t.getJti(), t.getExpiresAt().toEpochMilli());
+    }
+
+    // Past exp the token fails validation anyway, so the entry is only worth keeping until then.
+    // When full, expired entries go first; if it's still full, this jti keeps going to the DB.
+    private void remember(String jti, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis <= now) return;
+        if (confirmed.size() >= confirmedMaxSize) {
+            confirmed.values().removeIf(exp -> exp <= now);
+            if (confirmed.size() >= confirmedMaxSize) return;
+        }
+        confirmed.put(jti, expiresAtMillis);
+    }
+
+    public int getBucketCount() { return filter.bucketCount(); }
+    public int getConfirmedCacheSize() { return confirmed.size(); }
+    public long getFilterNegativeCount() { return filterNegatives.sum(); }
+    public long getConfirmedHitCount() { return confirmedHits.sum(); }
+    public long getConfirmedRevokedCount() { return confirmedRevoked.sum(); }
+    public long getFalsePositiveCount() { return falsePositives.sum(); }
+}
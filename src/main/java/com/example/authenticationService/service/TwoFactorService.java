@@ -0,0 +1,166 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.audit.AuditEvent;
+import com.example.authenticationService.audit.AuditLog;
+import com.example.authenticationService.dto.TwoFactorSetupResponse;
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.repository.UserRepository;
+import com.example.authenticationService.security.JwtTokenProvider;
+import com.example.authenticationService.security.LoginRateLimiter;
+import com.example.authenticationService.security.Totp;
+import com.example.authenticationService.security.TotpVerifier;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// TOTP second factor (OtpPurpose.TWO_FACTOR). Enrollment writes the secret once; after that a
+// login's second step is a signed challenge plus a code checked in memory (TotpVerifier):
+// no otp_tokens row, no email, no write beyond the token issue the login does anyway.
+// A challenge carries one guess: its jti is spent on first use (per node, like TotpVerifier's
+// replay guard), so a guessing client has to go back through the password and its lockout.
+// Enrollment changes re-check the password or a code against the same login budget, and write
+// only the 2FA columns, so a status change made meanwhile (e.g. a suspension) is never undone.
+@Service
+public class TwoFactorService {
+
+    private final UserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TotpVerifier totpVerifier;
+    private final LoginRateLimiter loginRateLimiter;
+    private final PasswordHashingService passwordHashingService;
+    private final AuditLog auditLog;
+    private final String issuer;
+    private final Duration challengeTtl;
+    private final SecureRandom random = new SecureRandom();
+    // Spent Challenge jti -> its Expiry (Epoch Millis); Dropped Once the Token Would be Rejected Anyway
+    private final ConcurrentHashMap<String, Long> spentChallenges = new ConcurrentHashMap<>();
+
+    public TwoFactorService(UserRepository userRepository,
+                            JwtTokenProvider jwtTokenProvider,
+                            TotpVerifier totpVerifier,
+                            LoginRateLimiter loginRateLimiter,
+                            PasswordHashingService passwordHashingService,
+                            AuditLog auditLog,
+                            @Value("${security.totp.issuer:authenticationService}") String issuer,
+                            @Value("${security.totp.challenge-ttl:PT5M}") Duration challengeTtl) {
+        this.userRepository = userRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.totpVerifier = totpVerifier;
+        this.loginRateLimiter = loginRateLimiter;
+        this.passwordHashingService = passwordHashingService;
+        this.auditLog = auditLog;
+        this.issuer = issuer;
+        this.challengeTtl = challengeTtl;
+    }
+
+    //-----------------------------ENROLLMENT-----------------------------//
+
+    // Seconds Until the Next Enrollment Attempt is Allowed (0 = Go Ahead); Shares the Login Budget
+    public long tryAcquire(User user, String clientIp) {
+        return loginRateLimiter.tryAcquire(user.getUsername(), clientIp);
+    }
+
+    // New (or Replacement) Pending Secret; Not Required at Login Until Confirmed With a Code
+    public TwoFactorSetupResponse setup(User user, String password, String clientIp) {
+        if (user.isTwoFactorEnabled()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Two-Factor Authentication is Already Enabled");
+        }
+        requirePassword(user, password, clientIp);
+        loginRateLimiter.recordSuccess(user.getUsername(), clientIp);
+        String secret = Totp.newSecret(random);
+        if (userRepository.setPendingTotpSecret(user.getId(), secret) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Two-Factor Authentication is Already Enabled");
+        }
+        auditLog.record(AuditEvent.Type.TWO_FACTOR, user.getUsername(), "SETUP");
+        return new TwoFactorSetupResponse(secret, Totp.otpauthUri(issuer, user.getUsername(), secret));
+    }
+
+    // Proves the Authenticator Holds the Secret Before Logins Depend on It
+    public void enable(User user, String code, String clientIp) {
+        if (user.isTwoFactorEnabled()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Two-Factor Authentication is Already Enabled");
+        }
+        if (user.getTotpSecret() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Call /auth/2fa/setup First");
+        }
+        requireCode(user, code, clientIp);
+        loginRateLimiter.recordSuccess(user.getUsername(), clientIp);
+        // The Secret the Code Was Checked Against Must Still be the Pending One
+        if (userRepository.enableTwoFactor(user.getId(), user.getTotpSecret(), Instant.now()) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Two-Factor Setup Changed, Start Again");
+        }
+        auditLog.record(AuditEvent.Type.TWO_FACTOR, user.getUsername(), "ENABLED");
+    }
+
+    // Both Factors: a Stolen Access Token Alone Can't Switch the Second One Off
+    public void disable(User user, String password, String code, String clientIp) {
+        if (!user.isTwoFactorEnabled()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Two-Factor Authentication is not Enabled");
+        }
+        requirePassword(user, password, clientIp);
+        requireCode(user, code, clientIp);
+        loginRateLimiter.recordSuccess(user.getUsername(), clientIp);
+        if (userRepository.disableTwoFactor(user.getId(), user.getTotpSecret()) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Two-Factor Settings Changed, Retry");
+        }
+        auditLog.record(AuditEvent.Type.TWO_FACTOR, user.getUsername(), "DISABLED");
+    }
+
+    //-----------------------------LOGIN-----------------------------//
+
+    // Issued in Place of Tokens Once the Password Checked Out
+    public String challenge(User user) {
+        return jwtTokenProvider.generateTwoFactorChallenge(user.getUsername(), challengeTtl);
+    }
+
+    // Username Behind a Valid, Unexpired, Unspent Challenge; Spends It
+    public Optional<String> redeemChallenge(String challengeToken) {
+        return jwtTokenProvider.verify(challengeToken)
+                .filter(JwtTokenProvider::isTwoFactorChallenge)
+                .filter(claims -> spentChallenges.putIfAbsent(claims.getId(), claims.getExpiration().getTime()) == null)
+                .map(Claims::getSubject);
+    }
+
+    @Scheduled(fixedDelayString = "${security.totp.replay-purge-interval-ms:60000}")
+    public void purgeSpentChallenges() {
+        long now = System.currentTimeMillis();
+        spentChallenges.values().removeIf(expiresAt -> expiresAt < now);
+    }
+
+    public TotpVerifier.Outcome verify(User user, String code) {
+        TotpVerifier.Outcome outcome = user.isTwoFactorEnabled()
+                ? totpVerifier.verify(user.getId(), user.getTotpSecret(), code)
+                : TotpVerifier.Outcome.INVALID;
+        auditLog.record(AuditEvent.Type.TWO_FACTOR, user.getUsername(), outcome.name());
+        return outcome;
+    }
+
+    // Wrong Passwords and Codes Count Toward the Same Lockout as Failed Logins
+    private void requirePassword(User user, String password, String clientIp) {
+        if (!passwordHashingService.matches(password, user.getPassword())) {
+            loginRateLimiter.recordFailure(user.getUsername(), clientIp);
+            auditLog.record(AuditEvent.Type.TWO_FACTOR, user.getUsername(), "INVALID_PASSWORD");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Password");
+        }
+    }
+
+    private void requireCode(User user, String code, String clientIp) {
+        TotpVerifier.Outcome outcome = totpVerifier.verify(user.getId(), user.getTotpSecret(), code);
+        if (outcome != TotpVerifier.Outcome.VERIFIED) {
+            loginRateLimiter.recordFailure(user.getUsername(), clientIp);
+            auditLog.record(AuditEvent.Type.TWO_FACTOR, user.getUsername(), outcome.name());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Code");
+        }
+    }
+
+    public int getSpentChallengeCount() { return spentChallenges.size(); }
+}
@@ -0,0 +1,100 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.dto.AdminUserView;
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Admin queries over the users table without findAll(): keyset pages for the UI,
+// and a forward-only stream for exports that never holds more than one fetch batch.
+@Service
+public class UserAdminService {
+
+    public enum ExportFormat { NDJSON, CSV }
+
+    public record Filter(User.UserStatus status, Boolean verified, Instant verifiedAfter, String q) { }
+
+    public record Page(List<AdminUserView> items, Long nextAfter) { }
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
+
+    public UserAdminService(UserRepository userRepository,
+                            ObjectMapper objectMapper,
+                            @Value("${admin.users.max-page-size:500}") int maxPageSize) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public Page list(Filter filter, long afterId, int limit) {
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        List<AdminUserView> items = userRepository.findAdminPage(afterId, filter.status(), filter.verified(),
+                filter.verifiedAfter(), likePrefix(filter.q()), PageRequest.of(0, size));
+
+        // A Full Page Means There May be More: Hand Back the Cursor
+        Long nextAfter = items.size() == size ? items.get(items.size() - 1).id() : null;
+        return new Page(items, nextAfter);
+    }
+
+    // The Stream Holds an Open Cursor, so it Must be Consumed (and Closed) Inside the Transaction.
+    // Read-only, so with datasource routing the export runs on a replica
+    @Transactional(readOnly = true)
+    public long export(Filter filter, ExportFormat format, OutputStream out) throws IOException {
+        if (format == ExportFormat.CSV) {
+            out.write("id,username,email,firstName,lastName,status,emailVerifiedAt\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        long rows = 0;
+        try (Stream<AdminUserView> stream = userRepository.streamAdminView(0L, filter.status(), filter.verified(),
+                filter.verifiedAfter(), likePrefix(filter.q()))) {
+            var it = stream.iterator();
+            while (it.hasNext()) {
+                AdminUserView row = it.next();
+                if (format == ExportFormat.CSV) {
+                    out.write(csvLine(row).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    out.write(objectMapper.writeValueAsBytes(row));
+                    out.write('\n');
+                }
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    // Caller Text is a Literal Prefix: Escape LIKE Wildcards (Matched With ESCAPE '!', See UserRepository)
+    private static String likePrefix(String q) {
+        if (q == null || q.isBlank()) return null;
+        return q.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static String csvLine(AdminUserView row) {
+        return String.join(",",
+                String.valueOf(row.id()),
+                csvField(row.username()),
+                csvField(row.email()),
+                csvField(row.firstName()),
+                csvField(row.lastName()),
+                row.status().name(),
+                row.emailVerifiedAt() == null ? "" : row.emailVerifiedAt().toString()) + "\n";
+    }
+
+    private static String csvField(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
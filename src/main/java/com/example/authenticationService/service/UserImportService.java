@@ -0,0 +1,398 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.dto.UserImportRow;
+import com.example.authenticationService.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+// Bulk onboarding: rows are read one line at a time, collected into fixed-size chunks and
+// written with one JDBC batch insert per chunk, so memory is bounded by the chunk size,
+// not the upload. Per-row errors and a final summary are streamed back as NDJSON.
+// With sendOtp, each chunk's codes are queued after its commit, waiting up to mail-wait for room in
+// the mail queue: the import slows to the pace of the mail workers instead of overflowing the queue.
+// Codes that still don't fit are reported per row (the user can ask for a resend) and in the summary.
+@Service
+public class UserImportService {
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    public enum Format { NDJSON, CSV }
+
+    // {bcrypt}-prefixed or bare BCrypt; bare hashes still match and get rehashed on next login
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^(\\{bcrypt})?\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private static final String INSERT_SQL =
+            "insert into users (username, email, first_name, last_name, password, status, email_verified_at) " +
+            "values (:username, :email, :firstName, :lastName, :password, :status, :emailVerifiedAt)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final OtpService otpService;
+    private final MailService mailService;
+    private final int chunkSize;
+    private final Duration mailWait;
+    private final ForkJoinPool hashPool;
+
+    public UserImportService(NamedParameterJdbcTemplate jdbc,
+                             TransactionTemplate tx,
+                             PasswordEncoder passwordEncoder,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             OtpService otpService,
+                             MailService mailService,
+                             @Value("${admin.import.chunk-size:1000}") int chunkSize,
+                             @Value("${admin.import.hash-parallelism:0}") int hashParallelism,
+                             @Value("${admin.import.mail-wait:PT1M}") Duration mailWait) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.otpService = otpService;
+        this.mailService = mailService;
+        this.chunkSize = chunkSize;
+        this.mailWait = mailWait;
+        // Separate from the login hashing pool, so an import never queues ahead of interactive logins
+        this.hashPool = new ForkJoinPool(hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    private record Row(long line, UserImportRow data) { }
+
+    private record Code(long line, String username, String email, String code) { }
+
+    private static final class Tally {
+        long imported;
+        long failed;
+        long otpQueued;
+        long otpDropped;
+    }
+
+    public void importUsers(BufferedReader in, Format format, boolean sendOtp, OutputStream out) throws IOException {
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long lineNo = 0;
+        Tally tally = new Tally();
+        String[] csvHeader = null;
+
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+
+            UserImportRow data;
+            try {
+                if (format == Format.CSV) {
+                    if (csvHeader == null) {
+                        csvHeader = parseCsvLine(line).toArray(String[]::new);
+                        continue;
+                    }
+                    data = fromCsv(csvHeader, parseCsvLine(line));
+                } else {
+                    data = objectMapper.readValue(line, UserImportRow.class);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                writeError(out, lineNo, null, "Malformed Row");
+                tally.failed++;
+                continue;
+            }
+
+            String violation = firstViolation(data, sendOtp);
+            if (violation != null) {
+                writeError(out, lineNo, data.getUsername(), violation);
+                tally.failed++;
+                continue;
+            }
+
+            chunk.add(new Row(lineNo, data));
+            if (chunk.size() >= chunkSize) {
+                writeChunk(chunk, sendOtp, out, tally);
+                chunk.clear();
+                out.flush();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, sendOtp, out, tally);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("imported", tally.imported);
+        summary.put("failed", tally.failed);
+        summary.put("lines", lineNo);
+        if (sendOtp) {
+            summary.put("otpQueued", tally.otpQueued);
+            summary.put("otpDropped", tally.otpDropped);
+        }
+        writeLine(out, summary);
+        out.flush();
+        log.info("Bulk import finished: {} imported, {} failed, {} lines, {} code(s) not queued",
+                tally.imported, tally.failed, lineNo, tally.otpDropped);
+    }
+
+    private void writeChunk(List<Row> chunk, boolean sendOtp, OutputStream out, Tally tally) throws IOException {
+        List<Row> accepted = rejectDuplicates(chunk, out);
+        tally.failed += chunk.size() - accepted.size();
+        if (accepted.isEmpty()) return;
+
+        hashPasswords(accepted);
+
+        List<Code> codes = new ArrayList<>();
+        try {
+            codes.addAll(tx.execute(status -> insert(accepted, sendOtp)));
+            tally.imported += accepted.size();
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent signup/import: fall back to per-row inserts to find the culprit(s)
+            for (Row row : accepted) {
+                try {
+                    codes.addAll(tx.execute(status -> insert(List.of(row), sendOtp)));
+                    tally.imported++;
+                } catch (DataIntegrityViolationException rowError) {
+                    writeError(out, row.line(), row.data().getUsername(), "Username or Email Already Exists");
+                    tally.failed++;
+                }
+            }
+        }
+        queueCodes(codes, out, tally);
+    }
+
+    // Committed Already: Wait (up to mail-wait per Chunk) for the Workers to Make Room
+    private void queueCodes(List<Code> codes, OutputStream out, Tally tally) throws IOException {
+        long deadline = System.nanoTime() + mailWait.toNanos();
+        for (Code c : codes) {
+            boolean queued;
+            try {
+                queued = mailService.queueOtpEmail(c.email(), c.code(), Duration.ofNanos(deadline - System.nanoTime()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Import Interrupted", e);
+            }
+            if (queued) {
+                tally.otpQueued++;
+            } else {
+                tally.otpDropped++;
+                writeWarning(out, c.line(), c.username(), "Code Not Sent (Mail Queue Full); Request a Resend");
+            }
+        }
+    }
+
+    // One IN-query per chunk instead of two exists-checks per row; also catches duplicates within the chunk
+    private List<Row> rejectDuplicates(List<Row> chunk, OutputStream out) throws IOException {
+        List<String> usernames = chunk.stream().map(r -> r.data().getUsername()).toList();
+        List<String> emails = chunk.stream().map(r -> r.data().getEmail()).toList();
+
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        jdbc.query("select username, email from users where username in (:usernames) or email in (:emails)",
+                Map.of("usernames", usernames, "emails", emails),
+                rs -> {
+                    takenUsernames.add(rs.getString(1));
+                    takenEmails.add(rs.getString(2));
+                });
+
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (!takenUsernames.add(row.data().getUsername())) {
+                writeError(out, row.line(), row.data().getUsername(), "Username Already Exists");
+            } else if (!takenEmails.add(row.data().getEmail())) {
+                writeError(out, row.line(), row.data().getUsername(), "Email Already Exists");
+            } else {
+                accepted.add(row);
+            }
+        }
+        return accepted;
+    }
+
+    // Pre-hashed rows are stored as-is; plaintext rows are hashed across the import pool's cores
+    private void hashPasswords(List<Row> rows) {
+        List<UserImportRow> plaintext = rows.stream()
+                .map(Row::data)
+                .filter(d -> d.getPassword() != null)
+                .toList();
+        if (plaintext.isEmpty()) return;
+
+        try {
+            hashPool.submit(() -> plaintext.parallelStream().forEach(d -> {
+                d.setPasswordHash(passwordEncoder.encode(d.getPassword()));
+                d.setPassword(null);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import Interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password Hashing Failed", e.getCause());
+        }
+    }
+
+    // Returns the codes to mail once the transaction has committed
+    private List<Code> insert(List<Row> rows, boolean sendOtp) {
+        Instant now = Instant.now();
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] params = new Map[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            UserImportRow d = rows.get(i).data();
+            User.UserStatus status = statusOf(d, sendOtp);
+
+            Map<String, Object> p = new LinkedHashMap<>();
+            p.put("username", d.getUsername());
+            p.put("email", d.getEmail());
+            p.put("firstName", d.getFirstName());
+            p.put("lastName", d.getLastName());
+            p.put("password", d.getPasswordHash());
+            p.put("status", status.name());
+            p.put("emailVerifiedAt", status == User.UserStatus.ACTIVE ? Timestamp.from(now) : null);
+            params[i] = p;
+        }
+        jdbc.batchUpdate(INSERT_SQL, params);
+
+        // Tokens go in as a second batch in the same transaction
+        if (!sendOtp) return List.of();
+        Map<String, Long> pendingLines = new LinkedHashMap<>();
+        for (Row row : rows) {
+            if (statusOf(row.data(), true) == User.UserStatus.PENDING) pendingLines.put(row.data().getUsername(), row.line());
+        }
+        if (pendingLines.isEmpty()) return List.of();
+
+        List<User> users = insertedUsers(pendingLines.keySet());
+        List<String> codes = otpService.createInitialSignupOtps(users);
+        List<Code> result = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            result.add(new Code(pendingLines.get(user.getUsername()), user.getUsername(), user.getEmail(), codes.get(i)));
+        }
+        return result;
+    }
+
+    // Ids of the rows just inserted; tokens and mails need only id, username and email, so no entities are loaded
+    private List<User> insertedUsers(Collection<String> usernames) {
+        return jdbc.query("select id, username, email from users where username in (:usernames)",
+                Map.of("usernames", usernames),
+                (rs, i) -> {
+                    User user = new User();
+                    user.setId(rs.getLong(1));
+                    user.setUsername(rs.getString(2));
+                    user.setEmail(rs.getString(3));
+                    return user;
+                });
+    }
+
+    private static User.UserStatus statusOf(UserImportRow d, boolean sendOtp) {
+        if (d.getStatus() != null) return d.getStatus();
+        return sendOtp ? User.UserStatus.PENDING : User.UserStatus.ACTIVE;
+    }
+
+    private String firstViolation(UserImportRow data, boolean sendOtp) {
+        for (ConstraintViolation<UserImportRow> v : validator.validate(data)) {
+            return v.getMessage();
+        }
+        // Without a code there is no way to ever leave PENDING
+        if (data.getStatus() == User.UserStatus.PENDING && !sendOtp) {
+            return "Status PENDING Requires sendOtp=true";
+        }
+        if (data.getPasswordHash() != null && !BCRYPT_HASH.matcher(data.getPasswordHash()).matches()) {
+            return "Password Hash Must be BCrypt";
+        }
+        return null;
+    }
+
+    private UserImportRow fromCsv(String[] header, List<String> values) {
+        if (values.size() != header.length) throw new IllegalArgumentException("Column Count Mismatch");
+        UserImportRow row = new UserImportRow();
+        for (int i = 0; i < header.length; i++) {
+            String v = values.get(i).isEmpty() ? null : values.get(i);
+            switch (header[i].trim()) {
+                case "username" -> row.setUsername(v);
+                case "email" -> row.setEmail(v);
+                case "firstName" -> row.setFirstName(v);
+                case "lastName" -> row.setLastName(v);
+                case "password" -> row.setPassword(v);
+                case "passwordHash" -> row.setPasswordHash(v);
+                case "status" -> row.setStatus(v == null ? null : User.UserStatus.valueOf(v));
+                default -> { } // Unknown Columns are Ignored
+            }
+        }
+        return row;
+    }
+
+    // RFC 4180 fields on a single line: commas, "quoted, fields" and "" escapes
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("Unterminated Quote");
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void writeError(OutputStream out, long line, String username, String error) throws IOException {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("line", line);
+        if (username != null) entry.put("username", username);
+        entry.put("error", error);
+        writeLine(out, entry);
+    }
+
+    private void writeWarning(OutputStream out, long line, String username, String warning) throws IOException {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("line", line);
+        entry.put("username", username);
+        entry.put("warning", warning);
+        writeLine(out, entry);
+    }
+
+    private void writeLine(OutputStream out, Map<String, Object> value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+}
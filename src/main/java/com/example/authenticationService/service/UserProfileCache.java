@@ -0,0 +1,96 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.dto.UserProfile;
+import com.example.authenticationService.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Read-through, size-bounded, TTL cache of user profiles keyed by username.
+// Entries are dropped explicitly when the user's status changes (see OtpService).
+@Service
+public class UserProfileCache {
+
+    private record Entry(UserProfile profile, long expiresAtMillis) { }
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UserProfileCache(UserRepository userRepository,
+                            @Value("${user.cache.ttl:PT5M}") Duration ttl,
+                            @Value("${user.cache.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+    }
+
+    public Optional<UserProfile> get(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAtMillis() > now) {
+            hits.increment();
+            return Optional.of(entry.profile());
+        }
+
+        misses.increment();
+        Optional<UserProfile> profile = userRepository.findByUsername(username).map(UserProfile::from);
+        profile.ifPresent(p -> {
+            if (entries.size() >= maxSize) evict(now);
+            entries.put(username, new Entry(p, now + ttlMillis));
+        });
+        return profile;
+    }
+
+    public void invalidate(String username) {
+        entries.remove(username);
+    }
+
+    // Drop the entry only once the surrounding transaction has committed: dropped earlier, a concurrent
+    // read could reload the pre-commit row and cache it for a full TTL.
+    public void invalidateAfterCommit(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(username);
+                }
+            });
+        } else {
+            invalidate(username);
+        }
+    }
+
+    // Expired first, then arbitrary entries down to 90% capacity; one sweeper at a time
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            entries.values().removeIf(e -> e.expiresAtMillis() <= now);
+            int target = maxSize - Math.max(1, maxSize / 10);
+            Iterator<String> it = entries.keySet().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    public int size() { return entries.size(); }
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+}
@@ -0,0 +1,34 @@
+package com.example.authenticationService;
+
+import com.example.authenticationService.dto.SignupRequest;
+import com.example.authenticationService.model.User;
+
+// Shared test data. Builders return unsaved objects: each test saves them through whatever
+// it exercises (repository, store, HTTP). Usernames must be unique per test, as the H2
+// database is shared by every context in the run.
+public final class TestFixtures {
+
+	private TestFixtures() { }
+
+	// `username`@example.com; the Password Matches no Login (Set a Real Hash Where One is Needed)
+	public static User user(String username, User.UserStatus status) {
+		User user = new User();
+		user.setFirstName("Test");
+		user.setLastName("User");
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPassword("{noop}unused");
+		user.setStatus(status);
+		return user;
+	}
+
+	public static SignupRequest signupRequest(String username, String email) {
+		SignupRequest req = new SignupRequest();
+		req.setFirstName("Test");
+		req.setLastName("User");
+		req.setUsername(username);
+		req.setEmail(email);
+		req.setPassword("password123");
+		return req;
+	}
+}
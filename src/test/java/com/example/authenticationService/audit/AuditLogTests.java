@@ -0,0 +1,103 @@
+package com.example.authenticationService.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTests {
+
+	private static final int PRODUCERS = 8;
+	private static final int EVENTS_PER_PRODUCER = 2_000;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void concurrentProducersAreWrittenInOrderAcrossRolledSegments() throws Exception {
+		AuditLog auditLog = new AuditLog(true, dir.toString(), 1024, DataSize.ofKilobytes(16), Duration.ofMillis(10));
+		auditLog.start();
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool(PRODUCERS);
+			CountDownLatch start = new CountDownLatch(1);
+			for (int p = 0; p < PRODUCERS; p++) {
+				String producer = "producer-" + p;
+				pool.execute(() -> {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int i = 0; i < EVENTS_PER_PRODUCER; i++) {
+						auditLog.record(AuditEvent.Type.LOGIN, producer, String.valueOf(i));
+					}
+				});
+			}
+			start.countDown();
+			pool.shutdown();
+			assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+			assertThat(auditLog.getPublishedCount() + auditLog.getDroppedCount()).isEqualTo(PRODUCERS * EVENTS_PER_PRODUCER);
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (auditLog.getWrittenCount() < auditLog.getPublishedCount() && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+
+			// The Live Segment is Still Zero-Padded: the Reader Must Stop at the Padding
+			assertThat(AuditLogReader.read(dir, AuditLogReader.Filter.ALL)).hasSize((int) auditLog.getPublishedCount());
+		} finally {
+			auditLog.stop();
+		}
+
+		List<AuditEvent> events = AuditLogReader.read(dir, AuditLogReader.Filter.ALL);
+		assertThat(events).hasSize((int) auditLog.getWrittenCount());
+		assertThat(AuditLogReader.segments(dir)).hasSizeGreaterThan(1);
+
+		// Each Producer's Events Come Out in the Order it Recorded Them
+		Map<String, Integer> lastSeen = new HashMap<>();
+		for (AuditEvent event : events) {
+			int seq = Integer.parseInt(event.outcome());
+			assertThat(seq).isGreaterThan(lastSeen.getOrDefault(event.username(), -1));
+			lastSeen.put(event.username(), seq);
+		}
+	}
+
+	@Test
+	void fullRingRefusesInsteadOfBlocking() {
+		AuditRingBuffer<String> ring = new AuditRingBuffer<>(4);
+		for (int i = 0; i < 4; i++) {
+			assertThat(ring.offer("e" + i)).isTrue();
+		}
+		assertThat(ring.offer("overflow")).isFalse();
+
+		assertThat(ring.poll()).isEqualTo("e0");
+		assertThat(ring.offer("e4")).isTrue();
+		assertThat(List.of(ring.poll(), ring.poll(), ring.poll(), ring.poll())).containsExactly("e1", "e2", "e3", "e4");
+		assertThat(ring.poll()).isNull();
+	}
+
+	@Test
+	void fieldsRoundTripThroughTheLineFormat() throws Exception {
+		AuditLog auditLog = new AuditLog(true, dir.toString(), 16, DataSize.ofKilobytes(16), Duration.ofMillis(10));
+		auditLog.start();
+		auditLog.record(AuditEvent.Type.SIGNUP, "quote\" back\\slash\nnewline ünïcode", "CREATED");
+		auditLog.stop();
+
+		List<AuditEvent> events = AuditLogReader.read(dir, new AuditLogReader.Filter(AuditEvent.Type.SIGNUP, "created", null, null, null, null));
+		assertThat(events).singleElement().satisfies(e -> {
+			assertThat(e.username()).isEqualTo("quote\" back\\slash\nnewline ünïcode");
+			assertThat(e.remoteAddress()).isNull();
+		});
+	}
+}
@@ -0,0 +1,72 @@
+package com.example.authenticationService.benchmark;
+
+import com.example.authenticationService.metrics.AuthMetrics;
+import com.example.authenticationService.repository.RevokedTokenRepository;
+import com.example.authenticationService.security.JwtAuthFilter;
+import com.example.authenticationService.security.JwtKeys;
+import com.example.authenticationService.security.JwtTokenProvider;
+import com.example.authenticationService.security.VerifiedTokenCache;
+import com.example.authenticationService.service.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Whole filter pass for an authenticated request, with and without the verified-token cache,
+// and for a public route that shouldNotFilter skips
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    private JwtAuthFilter filter;
+    private String authHeader;
+
+    @Setup
+    public void setup() {
+        JwtTokenProvider provider = new JwtTokenProvider(JwtKeys.ephemeral(), Duration.ofMinutes(15), Duration.ofDays(7));
+        // Nothing is revoked, so the repository is never reached: every check is a Bloom-filter negative
+        TokenRevocationService revocation = new TokenRevocationService(Mockito.mock(RevokedTokenRepository.class),
+                Duration.ofMinutes(15), 10_000, 0.001, Duration.ofSeconds(5), 10_000);
+        filter = new JwtAuthFilter(new VerifiedTokenCache(cacheEnabled, 10_000, provider, new AuthMetrics(new SimpleMeterRegistry())),
+                revocation);
+        authHeader = "Bearer " + provider.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/auth/me");
+        request.setServletPath("/auth/me");
+        request.addHeader("Authorization", authHeader);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // A Stray Bearer Header on a Public Route is Never Parsed
+    @Benchmark
+    public Object publicRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setServletPath("/auth/login");
+        request.addHeader("Authorization", authHeader);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.authenticationService.benchmark;
+
+import com.example.authenticationService.security.JwtKeys;
+import com.example.authenticationService.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Token signing and verification, including the filter's old path (two freshly built parsers per request).
+// Run with the benchmarks profile: mvn -Pbenchmarks -DskipTests verify -Djmh.include=JwtTokenProviderBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider provider;
+    private Key key;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtKeys keys = JwtKeys.ephemeral();
+        provider = new JwtTokenProvider(keys, Duration.ofMinutes(15), Duration.ofDays(7));
+        key = keys.verificationKey(keys.getActiveKid());
+        token = provider.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return provider.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return provider.getUsernameFromToken(token);
+    }
+
+    // Previous filter behaviour: validateToken() + getUsernameFromToken(), each building its own parser
+    @Benchmark
+    public String builderPerCallTwoParses() {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String cachedParserSingleParse() {
+        return provider.verify(token).map(Claims::getSubject).orElse(null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenProviderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.authenticationService.controller;
+
+import com.example.authenticationService.TestFixtures;
+import com.example.authenticationService.datasource.ReadYourWrites;
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+
+// Legacy hashes (BCrypt without the {bcrypt} prefix) are upgraded on a successful password check
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoginRehashTests {
+
+	private static final String LEGACY_HASH = new BCryptPasswordEncoder(4).encode("password123");
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@MockitoSpyBean
+	private ReadYourWrites readYourWrites;
+
+	@MockitoBean
+	private JavaMailSender mailSender;
+
+	@Test
+	void rehashFromAStaleReadTouchesOnlyThePassword() {
+		User stored = legacyUser("rehash-stale", User.UserStatus.ACTIVE);
+		// The Login Reads a Copy From Before an Admin Suspended the Account
+		User stale = userRepository.findById(stored.getId()).orElseThrow();
+		stored.setStatus(User.UserStatus.SUSPENDED);
+		userRepository.save(stored);
+		doReturn(Optional.of(stale)).when(readYourWrites).read(eq("rehash-stale"), any());
+
+		assertThat(login("rehash-stale").getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		User after = userRepository.findById(stored.getId()).orElseThrow();
+		assertThat(after.getPassword()).startsWith("{bcrypt}");
+		assertThat(after.getStatus()).isEqualTo(User.UserStatus.SUSPENDED);
+	}
+
+	@Test
+	void inactiveAccountsAreNotRehashed() {
+		User suspended = legacyUser("rehash-suspended", User.UserStatus.SUSPENDED);
+
+		assertThat(login("rehash-suspended").getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+		assertThat(userRepository.findById(suspended.getId()).orElseThrow().getPassword()).isEqualTo(LEGACY_HASH);
+	}
+
+	private ResponseEntity<Map> login(String username) {
+		return rest.postForEntity("/auth/login", Map.of("username", username, "password", "password123"), Map.class);
+	}
+
+	private User legacyUser(String username, User.UserStatus status) {
+		User user = TestFixtures.user(username, status);
+		user.setPassword(LEGACY_HASH);
+		return userRepository.save(user);
+	}
+}
@@ -0,0 +1,58 @@
+package com.example.authenticationService.controller;
+
+import com.example.authenticationService.TestFixtures;
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.repository.UserRepository;
+import com.example.authenticationService.service.PasswordHashingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Logout needs no access token: a client whose token already expired still revokes its refresh token
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LogoutTests {
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordHashingService passwordHashingService;
+
+	@MockitoBean
+	private JavaMailSender mailSender;
+
+	@Test
+	void logoutWithOnlyTheRefreshTokenEndsTheSession() {
+		assertLogoutRevokes("logout-current", "/auth/logout");
+	}
+
+	@Test
+	void legacyLogoutPathIsPublicToo() {
+		assertLogoutRevokes("logout-legacy", "/auth/auth/logout");
+	}
+
+	private void assertLogoutRevokes(String username, String path) {
+		User user = TestFixtures.user(username, User.UserStatus.ACTIVE);
+		user.setPassword(passwordHashingService.encode("password123"));
+		userRepository.save(user);
+
+		ResponseEntity<Map> login = rest.postForEntity("/auth/login", Map.of("username", username, "password", "password123"), Map.class);
+		assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+		Map<String, Object> refresh = Map.of("refreshToken", login.getBody().get("refreshToken"));
+
+		assertThat(rest.postForEntity(path, refresh, String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(rest.postForEntity("/auth/refresh", refresh, Map.class).getStatusCode()).isNotEqualTo(HttpStatus.OK);
+	}
+}
@@ -0,0 +1,86 @@
+package com.example.authenticationService.controller;
+
+import com.example.authenticationService.TestFixtures;
+import com.example.authenticationService.dto.SignupRequest;
+import com.example.authenticationService.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SignupConcurrencyTests {
+
+	private static final int THREADS = 12;
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@MockitoBean
+	private JavaMailSender mailSender;
+
+	@Test
+	void parallelSignupsWithSameUsernameCreateExactlyOneUser() throws Exception {
+		List<ResponseEntity<Map>> responses =
+				fireInParallel(i -> TestFixtures.signupRequest("racer", "racer" + i + "@example.com"));
+
+		assertOneCreatedRestConflict(responses, "Username Already Exists");
+		assertThat(userRepository.findByUsername("racer")).isPresent();
+	}
+
+	@Test
+	void parallelSignupsWithSameEmailCreateExactlyOneUser() throws Exception {
+		List<ResponseEntity<Map>> responses =
+				fireInParallel(i -> TestFixtures.signupRequest("mail-racer-" + i, "shared@example.com"));
+
+		assertOneCreatedRestConflict(responses, "Email Already Exists");
+		assertThat(userRepository.findByEmail("shared@example.com")).isPresent();
+	}
+
+	private void assertOneCreatedRestConflict(List<ResponseEntity<Map>> responses, String conflictMessage) {
+		assertThat(responses).filteredOn(r -> r.getStatusCode() == HttpStatus.CREATED).hasSize(1);
+		assertThat(responses).filteredOn(r -> r.getStatusCode() == HttpStatus.CONFLICT)
+				.hasSize(THREADS - 1)
+				.allSatisfy(r -> assertThat(r.getBody().get("message")).isEqualTo(conflictMessage));
+	}
+
+	private List<ResponseEntity<Map>> fireInParallel(IntFunction<SignupRequest> requests) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<ResponseEntity<Map>>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				SignupRequest body = requests.apply(i);
+				futures.add(pool.submit(() -> {
+					start.await();
+					return rest.postForEntity("/auth/signup", body, Map.class);
+				}));
+			}
+			start.countDown();
+
+			List<ResponseEntity<Map>> responses = new ArrayList<>();
+			for (Future<ResponseEntity<Map>> f : futures) responses.add(f.get());
+			return responses;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,226 @@
+package com.example.authenticationService.controller;
+
+import com.example.authenticationService.TestFixtures;
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.repository.UserRepository;
+import com.example.authenticationService.security.JwtTokenProvider;
+import com.example.authenticationService.security.Totp;
+import com.example.authenticationService.service.PasswordHashingService;
+import com.example.authenticationService.service.TwoFactorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.crypto.Mac;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+// The verifier reads codes against a clock the test steps by hand. Buckets are large enough
+// that only the lockout (5 failures) can refuse an attempt
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {"security.login.user.capacity=100", "security.login.ip.capacity=200"})
+class TwoFactorLoginTests {
+
+	private static final long STEP_MILLIS = Totp.STEP_SECONDS * 1000;
+
+	private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordHashingService passwordHashingService;
+
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+
+	@Autowired
+	private TwoFactorService twoFactorService;
+
+	@MockitoBean
+	private Clock clock;
+
+	@MockitoBean
+	private JavaMailSender mailSender;
+
+	@BeforeEach
+	void stepClock() {
+		when(clock.millis()).thenAnswer(invocation -> now.get());
+	}
+
+	@Test
+	void enrolledUserNeedsChallengeAndCodeAndCannotReplayIt() throws Exception {
+		activeUser("totp-login");
+		String accessToken = (String) post("/auth/login", credentials("totp-login"), null).getBody().get("token");
+
+		// Enrol Through the API
+		Map<String, Object> setup = post("/auth/2fa/setup", Map.of("password", "password123"), accessToken).getBody();
+		String secret = (String) setup.get("secret");
+		assertThat((String) setup.get("otpauthUri")).startsWith("otpauth://totp/").contains("secret=" + secret);
+		assertThat(post("/auth/2fa/enable", Map.of("code", currentCode(secret)), accessToken).getStatusCode())
+				.isEqualTo(HttpStatus.OK);
+
+		// Password Alone Now Only Yields a Challenge, Which is not an Access Token
+		String challenge = challenge("totp-login");
+		assertThat(get("/auth/me", challenge).getStatusCode()).isIn(HttpStatus.UNAUTHORIZED, HttpStatus.FORBIDDEN);
+
+		// The Code From Enrollment Was Spent There; Step to a Fresh One
+		now.addAndGet(STEP_MILLIS);
+		String code = currentCode(secret);
+		assertThat(post("/auth/login/2fa", Map.of("challengeToken", challenge, "code", wrongCode(code)), null)
+				.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+		// One Guess per Challenge: the Right Code Comes Too Late for This One
+		assertThat(post("/auth/login/2fa", Map.of("challengeToken", challenge, "code", code), null).getStatusCode())
+				.isEqualTo(HttpStatus.UNAUTHORIZED);
+
+		ResponseEntity<Map> second = post("/auth/login/2fa", Map.of("challengeToken", challenge("totp-login"), "code", code), null);
+		assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(get("/auth/me", (String) second.getBody().get("token")).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		// Same Code on a Fresh Challenge: Replay
+		assertThat(post("/auth/login/2fa", Map.of("challengeToken", challenge("totp-login"), "code", code), null).getStatusCode())
+				.isEqualTo(HttpStatus.UNAUTHORIZED);
+
+		// Switching it Off Takes the Password and the Next Code
+		now.addAndGet(STEP_MILLIS);
+		assertThat(post("/auth/2fa/disable", Map.of("password", "password123", "code", currentCode(secret)), accessToken)
+				.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(userRepository.findByUsername("totp-login").orElseThrow().isTwoFactorEnabled()).isFalse();
+	}
+
+	@Test
+	void challengeIsRequiredForTheSecondStep() {
+		User user = activeUser("totp-forged");
+		user.setTotpSecret(Totp.newSecret(new SecureRandom()));
+		userRepository.save(user);
+
+		String accessToken = (String) post("/auth/login", credentials("totp-forged"), null).getBody().get("token");
+		assertThat(post("/auth/login/2fa", Map.of("challengeToken", accessToken, "code", "123456"), null).getStatusCode())
+				.isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	@Test
+	void passwordStepDoesNotClearFailedCodes() throws Exception {
+		String secret = enrolledUser("totp-guesser");
+		String code = currentCode(secret);
+
+		// Each Round Passes the Password Again; Only a Verified Code Would Reset the Count
+		for (int i = 0; i < 5; i++) {
+			assertThat(post("/auth/login/2fa", Map.of("challengeToken", challenge("totp-guesser"), "code", wrongCode(code)), null)
+					.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		}
+
+		ResponseEntity<Map> locked = post("/auth/login", credentials("totp-guesser"), null);
+		assertThat(locked.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		assertThat(locked.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+	}
+
+	@Test
+	void enrollmentChangesNeedThePasswordAndShareTheLockout() throws Exception {
+		String secret = enrolledUser("totp-hijacked");
+		String accessToken = jwtTokenProvider.generateToken("totp-hijacked");
+		String code = currentCode(secret);
+
+		// A Stolen Access Token Plus the Current Code is not Enough, and Every Try Counts
+		for (int i = 0; i < 5; i++) {
+			assertThat(post("/auth/2fa/disable", Map.of("password", "guess-" + i, "code", code), accessToken).getStatusCode())
+					.isNotEqualTo(HttpStatus.OK);
+		}
+
+		ResponseEntity<Map> locked = post("/auth/2fa/disable", Map.of("password", "password123", "code", code), accessToken);
+		assertThat(locked.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		assertThat(locked.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+		assertThat(userRepository.findByUsername("totp-hijacked").orElseThrow().isTwoFactorEnabled()).isTrue();
+	}
+
+	@Test
+	void enrollmentWritesOnlyTheTwoFactorColumns() throws Exception {
+		User stale = activeUser("totp-suspended");
+		// Suspended After the Request Loaded `stale`
+		User current = userRepository.findById(stale.getId()).orElseThrow();
+		current.setStatus(User.UserStatus.SUSPENDED);
+		userRepository.save(current);
+
+		String secret = twoFactorService.setup(stale, "password123", "10.0.0.1").secret();
+		stale.setTotpSecret(secret);
+		twoFactorService.enable(stale, currentCode(secret), "10.0.0.1");
+
+		User after = userRepository.findById(stale.getId()).orElseThrow();
+		assertThat(after.getStatus()).isEqualTo(User.UserStatus.SUSPENDED);
+		assertThat(after.isTwoFactorEnabled()).isTrue();
+
+		// A Setup From a Request That Loaded the User Before the Enable Can't Replace the Confirmed Secret
+		stale.setTwoFactorEnabledAt(null);
+		assertThatThrownBy(() -> twoFactorService.setup(stale, "password123", "10.0.0.1"))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("Already Enabled");
+	}
+
+	private String challenge(String username) {
+		ResponseEntity<Map> response = post("/auth/login", credentials(username), null);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+		assertThat(response.getBody().get("token")).isNull();
+		return (String) response.getBody().get("challengeToken");
+	}
+
+	private User activeUser(String username) {
+		User user = TestFixtures.user(username, User.UserStatus.ACTIVE);
+		user.setPassword(passwordHashingService.encode("password123"));
+		return userRepository.save(user);
+	}
+
+	private String enrolledUser(String username) {
+		User user = activeUser(username);
+		user.setTotpSecret(Totp.newSecret(new SecureRandom()));
+		user.setTwoFactorEnabledAt(Instant.now());
+		return userRepository.save(user).getTotpSecret();
+	}
+
+	private static Map<String, String> credentials(String username) {
+		return Map.of("username", username, "password", "password123");
+	}
+
+	private ResponseEntity<Map> post(String path, Object body, String bearer) {
+		return rest.exchange(path, HttpMethod.POST, new HttpEntity<>(body, headers(bearer)), Map.class);
+	}
+
+	private ResponseEntity<Map> get(String path, String bearer) {
+		return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers(bearer)), Map.class);
+	}
+
+	private static HttpHeaders headers(String bearer) {
+		HttpHeaders headers = new HttpHeaders();
+		if (bearer != null) headers.setBearerAuth(bearer);
+		return headers;
+	}
+
+	private String currentCode(String secret) throws Exception {
+		return Totp.format(Totp.code(Mac.getInstance(Totp.ALGORITHM), Totp.base32Decode(secret), Totp.step(now.get())));
+	}
+
+	private static String wrongCode(String code) {
+		return "000000".equals(code) ? "111111" : "000000";
+	}
+}
@@ -0,0 +1,142 @@
+package com.example.authenticationService.datasource;
+
+import com.example.authenticationService.TestFixtures;
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.repository.UserRepository;
+import com.example.authenticationService.service.PasswordHashingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two embedded H2 databases stand in for primary and replica; "replication" is an explicit
+// copy of the primary, so anything written after it exists on the primary only
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=" + ReadWriteRoutingTests.PRIMARY_URL,
+		"datasource.routing.enabled=true",
+		"datasource.routing.replicas[0].url=" + ReadWriteRoutingTests.REPLICA_URL,
+		"datasource.routing.health-query=select count(*) from users where 1 = 0",
+		"datasource.routing.health-check-interval-ms=3600000"
+})
+class ReadWriteRoutingTests {
+
+	static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+	static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ReadWriteRoutingDataSource router;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private PasswordHashingService passwordHashingService;
+
+	@MockitoBean
+	private JavaMailSender mailSender;
+
+	private final JdbcTemplate primaryJdbc = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+	private final JdbcTemplate replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+	@BeforeEach
+	void replicate() {
+		replicaJdbc.execute("drop all objects");
+		List<String> script = primaryJdbc.queryForList("script", String.class);
+		script.forEach(replicaJdbc::execute);
+		router.checkReplicas();
+		assertThat(router.getHealthyReplicaCount()).isEqualTo(1);
+	}
+
+	@Test
+	void readOnlyQueriesUseTheReplicaAndWritesUseThePrimary() {
+		insertOnReplicaOnly("replica-only");
+
+		assertThat(userRepository.findByUsername("replica-only")).isPresent();
+		Optional<User> inWriteTransaction = transactionTemplate.execute(status -> userRepository.findByUsername("replica-only"));
+		assertThat(inWriteTransaction).isEmpty();
+	}
+
+	@Test
+	void signupFollowUpsReadTheirOwnWrite() {
+		ResponseEntity<Map> signup = rest.postForEntity("/auth/signup", TestFixtures.signupRequest("sticky", "sticky@example.com"), Map.class);
+		assertThat(signup.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+		// Not on the Replica Yet...
+		assertThat(userRepository.findByEmail("sticky@example.com")).isEmpty();
+
+		// ...But the Follow-Up Finds the User (Cooldown Rather Than 404)
+		ResponseEntity<Map> resend = rest.postForEntity("/auth/resend-otp", Map.of("email", "sticky@example.com"), Map.class);
+		assertThat(resend.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+	}
+
+	@Test
+	void loginAndRefreshWriteToThePrimaryAfterAReplicaRead() {
+		User user = TestFixtures.user("replicated", User.UserStatus.ACTIVE);
+		user.setPassword(passwordHashingService.encode("password123"));
+		userRepository.save(user);
+		replicate();
+
+		// The Login's First Query Reads the Replica; the Token Row it Then Writes Must Not Follow
+		ResponseEntity<Map> login = rest.postForEntity("/auth/login", Map.of("username", "replicated", "password", "password123"), Map.class);
+		assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(refreshTokenRows(primaryJdbc, "replicated")).isEqualTo(1);
+		assertThat(refreshTokenRows(replicaJdbc, "replicated")).isZero();
+
+		ResponseEntity<Map> refresh = rest.postForEntity("/auth/refresh", Map.of("refreshToken", login.getBody().get("refreshToken")), Map.class);
+		assertThat(refresh.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(refreshTokenRows(replicaJdbc, "replicated")).isZero();
+	}
+
+	@Test
+	void unhealthyReplicaFailsOverToPrimary() {
+		userRepository.save(TestFixtures.user("primary-only", User.UserStatus.PENDING));
+		assertThat(userRepository.findByUsername("primary-only")).isEmpty();
+
+		replicaJdbc.execute("drop all objects");
+		router.checkReplicas();
+
+		assertThat(router.getHealthyReplicaCount()).isZero();
+		assertThat(userRepository.findByUsername("primary-only")).isPresent();
+	}
+
+	@Test
+	void explicitCredentialsGoToThePrimary() throws Exception {
+		ReadWriteRoutingDataSource standalone = new ReadWriteRoutingDataSource(
+				new DriverManagerDataSource(PRIMARY_URL), List.of(), null);
+
+		try (Connection connection = standalone.getConnection("sa", "")) {
+			assertThat(connection.getMetaData().getURL()).isEqualTo("jdbc:h2:mem:routing-primary");
+		}
+		assertThat(standalone.getPrimaryRouteCount()).isEqualTo(1);
+	}
+
+	private static int refreshTokenRows(JdbcTemplate jdbc, String username) {
+		return jdbc.queryForObject("select count(*) from refresh_tokens where username = ?", Integer.class, username);
+	}
+
+	private void insertOnReplicaOnly(String username) {
+		replicaJdbc.update("insert into users (username, email, first_name, last_name, password, status) values (?, ?, ?, ?, ?, ?)",
+				username, username + "@example.com", "Test", "User", "{noop}unused", "ACTIVE");
+	}
+}
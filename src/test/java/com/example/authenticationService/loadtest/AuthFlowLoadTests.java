@@ -0,0 +1,314 @@
+package com.example.authenticationService.loadtest;
+
+import com.example.authenticationService.datasource.ReadWriteRoutingDataSource;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// End-to-end load run: signup -> verify-otp -> login -> /auth/me against H2 and a fake SMTP server.
+// Skipped by default; run with the loadtest profile:
+//   mvn -Ploadtest test [-Dloadtest.users=500 -Dloadtest.concurrency=64]
+// The same flow runs once on platform request threads and once on virtual threads (one context each).
+// Prints throughput, p50/p95/p99 per endpoint and connection-pool wait for each mode, then the two
+// side by side, and writes target/load-test-report.txt.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(AuthFlowLoadTests.PoolWaitConfig.class)
+abstract class AuthFlowLoadTests {
+
+	private static final int USERS = Integer.getInteger("loadtest.users", 200);
+	private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+	private static final int ME_CALLS = Integer.getInteger("loadtest.me-calls", 5);
+	private static final Pattern CODE = Pattern.compile("code is: (\\d{6})");
+
+	// Shared by Both Runs (Not Closed per Class); its Daemon Threads Go With the JVM
+	private static final FakeSmtpServer smtp = startSmtp();
+	private static final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+	private static final Recorder poolWait = new Recorder();
+	private static final List<String> ENDPOINTS = List.of("signup", "verify-otp", "login", "me", "pool-wait");
+	// Mode -> Endpoint -> {req/s, p50, p95, p99, max}, Kept Across Both Runs for the Comparison
+	private static final Map<String, Map<String, double[]>> results = new ConcurrentHashMap<>();
+	private static final Map<String, String> summaries = new ConcurrentHashMap<>();
+
+	private final ObjectMapper json = new ObjectMapper();
+	private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+	@LocalServerPort
+	private int port;
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtual;
+
+	// JUnit Conditions Aren't Inherited, so Each Mode Carries its Own
+	@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+	@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+	static class PlatformThreads extends AuthFlowLoadTests {
+	}
+
+	@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+	@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+	static class VirtualThreads extends AuthFlowLoadTests {
+	}
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("spring.mail.host", () -> "localhost");
+		registry.add("spring.mail.port", smtp::getPort);
+		// One client IP drives every user; keep the limiter out of the measurement
+		registry.add("security.login.ip.capacity", () -> Integer.MAX_VALUE);
+		registry.add("security.login.ip.refill-per-minute", () -> Integer.MAX_VALUE);
+	}
+
+	@TestConfiguration
+	static class PoolWaitConfig {
+		// Times every physical getConnection() so pool starvation shows up in the report. With read/write
+		// routing on, the lazy proxy hands out placeholders, so the timer goes between it and the router.
+		@Bean
+		static BeanPostProcessor timedDataSource() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (bean instanceof LazyConnectionDataSourceProxy lazy) {
+						lazy.setTargetDataSource(timed(lazy.getTargetDataSource()));
+						return lazy;
+					}
+					if (!(bean instanceof DataSource ds) || bean instanceof ReadWriteRoutingDataSource) return bean;
+					return timed(ds);
+				}
+			};
+		}
+
+		private static DataSource timed(DataSource target) {
+			return new DelegatingDataSource(target) {
+				@Override
+				public Connection getConnection() throws SQLException {
+					long start = System.nanoTime();
+					try {
+						return super.getConnection();
+					} finally {
+						poolWait.record(System.nanoTime() - start);
+					}
+				}
+			};
+		}
+	}
+
+	@Test
+	void fullAuthFlow() throws Exception {
+		// Runs Share the JVM; Start Each From Empty Recorders
+		recorders.clear();
+		poolWait.clear();
+		String mode = mode();
+
+		AtomicInteger failures = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(CONCURRENCY);
+		long start = System.nanoTime();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < USERS; i++) {
+				int id = i;
+				futures.add(pool.submit(() -> {
+					try {
+						runUser(mode + "-" + id);
+					} catch (Exception | AssertionError e) {
+						failures.incrementAndGet();
+					}
+				}));
+			}
+			for (Future<?> f : futures) f.get();
+		} finally {
+			pool.shutdownNow();
+		}
+		long elapsedNanos = System.nanoTime() - start;
+
+		String summary = summarize(mode, elapsedNanos, failures.get());
+		System.out.println(summary);
+		summaries.put(mode, summary);
+		System.out.print(comparison());
+		Files.writeString(Path.of("target", "load-test-report.txt"), report());
+
+		assertThat(failures.get()).isZero();
+	}
+
+	private String mode() {
+		return virtual ? "virtual" : "platform";
+	}
+
+	private void runUser(String id) throws Exception {
+		String username = "load-" + id;
+		String email = username + "@load.test";
+		String password = "password-" + id;
+
+		expect(201, call("signup", post("/auth/signup", Map.of(
+				"firstName", "Load", "lastName", "Test", "username", username, "email", email, "password", password))));
+
+		String message = smtp.awaitMessage(email, 30, TimeUnit.SECONDS);
+		assertThat(message).as("OTP mail for %s", email).isNotNull();
+		Matcher m = CODE.matcher(message);
+		assertThat(m.find()).isTrue();
+
+		expect(200, call("verify-otp", post("/auth/verify-otp", Map.of("email", email, "code", m.group(1)))));
+
+		HttpResponse<String> login = call("login", post("/auth/login", Map.of("username", username, "password", password)));
+		expect(200, login);
+		String token = json.readTree(login.body()).path("token").asText();
+
+		for (int i = 0; i < ME_CALLS; i++) {
+			HttpResponse<String> me = call("me", HttpRequest.newBuilder(uri("/auth/me"))
+					.header("Authorization", "Bearer " + token).GET().build());
+			expect(200, me);
+			JsonNode body = json.readTree(me.body());
+			assertThat(body.path("username").asText()).isEqualTo(username);
+		}
+	}
+
+	private HttpResponse<String> call(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+		long start = System.nanoTime();
+		HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+		recorders.computeIfAbsent(endpoint, k -> new Recorder()).record(System.nanoTime() - start);
+		return response;
+	}
+
+	private HttpRequest post(String path, Map<String, String> body) {
+		try {
+			return HttpRequest.newBuilder(uri(path))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body)))
+					.build();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private static void expect(int status, HttpResponse<String> response) {
+		assertThat(response.statusCode()).as(response.uri() + " -> " + response.body()).isEqualTo(status);
+	}
+
+	private static String summarize(String mode, long elapsedNanos, int failures) {
+		double seconds = elapsedNanos / 1e9;
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%nAuth flow load test: mode=%s users=%d concurrency=%d failures=%d elapsed=%.2fs%n",
+				mode, USERS, CONCURRENCY, failures, seconds));
+		sb.append(String.format("%-12s %8s %10s %9s %9s %9s %9s%n", "endpoint", "count", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+
+		Map<String, Recorder> ordered = new LinkedHashMap<>();
+		for (String name : ENDPOINTS) {
+			if (recorders.containsKey(name)) ordered.put(name, recorders.get(name));
+		}
+		ordered.put("pool-wait", poolWait);
+
+		Map<String, double[]> stats = new LinkedHashMap<>();
+		ordered.forEach((name, r) -> {
+			long[] s = r.sorted();
+			double[] row = {s.length / seconds, pct(s, 50), pct(s, 95), pct(s, 99), s.length == 0 ? 0 : s[s.length - 1] / 1e6};
+			stats.put(name, row);
+			sb.append(String.format("%-12s %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name, s.length, row[0], row[1], row[2], row[3], row[4]));
+		});
+		results.put(mode, stats);
+		return sb.toString();
+	}
+
+	// Every Finished Mode's Table, Then the Comparison
+	private static String report() {
+		StringBuilder sb = new StringBuilder();
+		for (String mode : List.of("platform", "virtual")) {
+			if (summaries.containsKey(mode)) sb.append(summaries.get(mode));
+		}
+		return sb.append(comparison()).toString();
+	}
+
+	// Platform vs Virtual, Empty Until Both Have Run
+	private static String comparison() {
+		Map<String, double[]> platform = results.get("platform");
+		Map<String, double[]> virtual = results.get("virtual");
+		if (platform == null || virtual == null) return "";
+
+		StringBuilder sb = new StringBuilder();
+		String side = "%-12s %10s %9s %9s | %10s %9s %9s%n";
+		sb.append(String.format("%nPlatform vs virtual threads%n"));
+		sb.append(String.format(side, "endpoint", "req/s", "p50 ms", "p99 ms", "req/s", "p50 ms", "p99 ms"));
+		for (String name : ENDPOINTS) {
+			double[] p = platform.get(name), v = virtual.get(name);
+			if (p == null || v == null) continue;
+			sb.append(String.format("%-12s %10.1f %9.2f %9.2f | %10.1f %9.2f %9.2f%n", name, p[0], p[1], p[3], v[0], v[1], v[3]));
+		}
+		return sb.toString();
+	}
+
+	private static double pct(long[] sorted, int p) {
+		if (sorted.length == 0) return 0;
+		int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, idx)] / 1e6;
+	}
+
+	private static FakeSmtpServer startSmtp() {
+		try {
+			return new FakeSmtpServer();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// Append-only latency samples in nanoseconds
+	private static final class Recorder {
+		private final List<Long> samples = new ArrayList<>();
+
+		synchronized void record(long nanos) {
+			samples.add(nanos);
+		}
+
+		synchronized void clear() {
+			samples.clear();
+		}
+
+		synchronized long[] sorted() {
+			long[] s = samples.stream().mapToLong(Long::longValue).toArray();
+			Arrays.sort(s);
+			return s;
+		}
+	}
+}
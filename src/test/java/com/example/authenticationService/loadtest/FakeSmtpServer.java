@@ -0,0 +1,120 @@
+package com.example.authenticationService.loadtest;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Minimal in-process SMTP sink: speaks just enough of RFC 5321 for JavaMail
+// and keeps each message body by recipient so tests can read OTP codes back.
+public class FakeSmtpServer implements Closeable {
+
+	private final ServerSocket serverSocket;
+	private final Map<String, BlockingQueue<String>> inbox = new ConcurrentHashMap<>();
+	private final AtomicLong received = new AtomicLong();
+	private final Thread acceptor;
+
+	public FakeSmtpServer() throws IOException {
+		serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+		acceptor = Thread.ofPlatform().name("fake-smtp-acceptor").daemon(true).start(this::acceptLoop);
+	}
+
+	public int getPort() { return serverSocket.getLocalPort(); }
+	public long getReceivedCount() { return received.get(); }
+
+	// Waits for the next message to the recipient; null on timeout
+	public String awaitMessage(String recipient, long timeout, TimeUnit unit) throws InterruptedException {
+		return mailbox(recipient).poll(timeout, unit);
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		acceptor.interrupt();
+	}
+
+	private BlockingQueue<String> mailbox(String recipient) {
+		return inbox.computeIfAbsent(recipient.toLowerCase(), k -> new LinkedBlockingQueue<>());
+	}
+
+	private void acceptLoop() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				// Platform Threads: a Virtual Handler Could Starve Behind the App's Carrier-Pinned SMTP Client
+				Thread.ofPlatform().daemon(true).start(() -> handle(socket));
+			} catch (SocketException e) {
+				return;
+			} catch (IOException ignored) {
+				// keep accepting
+			}
+		}
+	}
+
+	private void handle(Socket socket) {
+		try (socket;
+			 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+
+			reply(out, "220 fake-smtp ready");
+			List<String> recipients = new ArrayList<>();
+			String line;
+			while ((line = in.readLine()) != null) {
+				String cmd = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+				switch (cmd) {
+					case "EHLO", "HELO" -> reply(out, "250 fake-smtp");
+					case "MAIL" -> {
+						recipients.clear();
+						reply(out, "250 OK");
+					}
+					case "RCPT" -> {
+						recipients.add(line.substring(line.indexOf('<') + 1, line.indexOf('>')));
+						reply(out, "250 OK");
+					}
+					case "DATA" -> {
+						reply(out, "354 End data with <CR><LF>.<CR><LF>");
+						StringBuilder body = new StringBuilder();
+						String dataLine;
+						while ((dataLine = in.readLine()) != null && !dataLine.equals(".")) {
+							body.append(dataLine.startsWith("..") ? dataLine.substring(1) : dataLine).append('\n');
+						}
+						for (String rcpt : recipients) mailbox(rcpt).add(body.toString());
+						received.incrementAndGet();
+						reply(out, "250 OK");
+					}
+					case "RSET" -> {
+						recipients.clear();
+						reply(out, "250 OK");
+					}
+					case "NOOP" -> reply(out, "250 OK");
+					case "QUIT" -> {
+						reply(out, "221 Bye");
+						return;
+					}
+					default -> reply(out, "502 Command not implemented");
+				}
+			}
+		} catch (IOException ignored) {
+			// client went away
+		}
+	}
+
+	private static void reply(PrintWriter out, String text) {
+		out.print(text + "\r\n");
+		out.flush();
+	}
+}
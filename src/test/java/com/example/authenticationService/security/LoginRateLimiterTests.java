@@ -0,0 +1,42 @@
+package com.example.authenticationService.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginRateLimiterTests {
+
+	@Test
+	void lockoutIsPerUsernameAndClientIp() {
+		// Buckets Large Enough That Only the Lockout Can Refuse
+		LoginRateLimiter limiter = new LoginRateLimiter(100, 100, 100, 100, 3, 30, 3600, 1000);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire("victim", "10.0.0.66")).isZero();
+			limiter.recordFailure("victim", "10.0.0.66");
+		}
+
+		// The Attacker's Address is Locked Out, the Owner's Isn't
+		assertThat(limiter.tryAcquire("VICTIM", "10.0.0.66")).isBetween(1L, 30L);
+		assertThat(limiter.tryAcquire("victim", "10.0.0.1")).isZero();
+		assertThat(limiter.getLockoutCount()).isEqualTo(1);
+
+		limiter.recordSuccess("victim", "10.0.0.66");
+		assertThat(limiter.tryAcquire("victim", "10.0.0.66")).isZero();
+	}
+
+	@Test
+	void lockedOutAttemptsSpendNoTokens() {
+		// One Token per Bucket, Refilled Once a Minute
+		LoginRateLimiter limiter = new LoginRateLimiter(1, 1, 1, 1, 1, 30, 3600, 1000);
+		limiter.recordFailure("alice", "10.0.0.7");
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(limiter.tryAcquire("alice", "10.0.0.7")).isPositive();
+		}
+		// The Address Still Has its Token for Another Account
+		assertThat(limiter.tryAcquire("bob", "10.0.0.7")).isZero();
+		assertThat(limiter.getRateLimitedCount()).isZero();
+		assertThat(limiter.getLockedOutCount()).isEqualTo(5);
+	}
+}
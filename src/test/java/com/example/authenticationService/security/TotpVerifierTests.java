@@ -0,0 +1,59 @@
+package com.example.authenticationService.security;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TotpVerifierTests {
+
+	// RFC 6238 Appendix B (SHA1), Last Six Digits of the 8-Digit Values
+	private static final String RFC_SECRET = Totp.base32Encode("12345678901234567890".getBytes(StandardCharsets.US_ASCII));
+
+	@Test
+	void matchesRfc6238TestVectors() throws Exception {
+		Mac mac = Mac.getInstance(Totp.ALGORITHM);
+		byte[] key = Totp.base32Decode(RFC_SECRET);
+
+		assertThat(Totp.format(Totp.code(mac, key, Totp.step(59_000L)))).isEqualTo("287082");
+		assertThat(Totp.format(Totp.code(mac, key, Totp.step(1_111_111_109_000L)))).isEqualTo("081804");
+		assertThat(Totp.format(Totp.code(mac, key, Totp.step(1_234_567_890_000L)))).isEqualTo("005924");
+		assertThat(Totp.format(Totp.code(mac, key, Totp.step(20_000_000_000_000L)))).isEqualTo("353130");
+	}
+
+	@Test
+	void base32RoundTrips() {
+		String secret = Totp.newSecret(new SecureRandom());
+		assertThat(secret).hasSize(32).matches("[A-Z2-7]+");
+		assertThat(Totp.base32Encode(Totp.base32Decode(secret.toLowerCase()))).isEqualTo(secret);
+	}
+
+	@Test
+	void acceptsNeighbouringStepsAndRejectsReplays() throws Exception {
+		TotpVerifier verifier = new TotpVerifier(1, Clock.systemUTC());
+		long now = 1_234_567_890_000L;
+
+		// Code From the Previous Step (Clock Skew) is Accepted Once...
+		assertThat(verifier.verify(1L, RFC_SECRET, codeAt(now - 30_000), now)).isEqualTo(TotpVerifier.Outcome.VERIFIED);
+		assertThat(verifier.verify(1L, RFC_SECRET, codeAt(now - 30_000), now)).isEqualTo(TotpVerifier.Outcome.REPLAYED);
+
+		// ...the Current One Still Works, but After it Nothing Older Does
+		assertThat(verifier.verify(1L, RFC_SECRET, codeAt(now), now)).isEqualTo(TotpVerifier.Outcome.VERIFIED);
+		assertThat(verifier.verify(1L, RFC_SECRET, codeAt(now - 30_000), now)).isEqualTo(TotpVerifier.Outcome.REPLAYED);
+
+		// Replay State is Per User
+		assertThat(verifier.verify(2L, RFC_SECRET, codeAt(now), now)).isEqualTo(TotpVerifier.Outcome.VERIFIED);
+
+		// Outside the Window or Malformed
+		assertThat(verifier.verify(3L, RFC_SECRET, codeAt(now - 60_000), now)).isEqualTo(TotpVerifier.Outcome.INVALID);
+		assertThat(verifier.verify(3L, RFC_SECRET, "12a456", now)).isEqualTo(TotpVerifier.Outcome.INVALID);
+	}
+
+	private static String codeAt(long millis) throws Exception {
+		return Totp.format(Totp.code(Mac.getInstance(Totp.ALGORITHM), Totp.base32Decode(RFC_SECRET), Totp.step(millis)));
+	}
+}
@@ -0,0 +1,107 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.TestFixtures;
+import com.example.authenticationService.dto.ResendOtpRequest;
+import com.example.authenticationService.model.OtpToken;
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.repository.OtpStore;
+import com.example.authenticationService.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OtpResendConcurrencyTests {
+
+	private static final int THREADS = 12;
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Autowired
+	private OtpStore otpStore;
+
+	@Autowired
+	private OtpService otpService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MailDispatcher mailDispatcher;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	@MockitoBean
+	private JavaMailSender mailSender;
+
+	@Test
+	void parallelResendsIssueOneCodeAndThrottleTheRest() throws Exception {
+		User user = userRepository.save(TestFixtures.user("resender", User.UserStatus.PENDING));
+		// Last Sent Before the Cooldown, so Exactly One Resend is Due
+		staleToken(user);
+		long enqueuedBefore = mailDispatcher.getEnqueuedCount();
+
+		List<ResponseEntity<String>> responses = resendInParallel(user.getEmail());
+
+		assertThat(responses).filteredOn(r -> r.getStatusCode() == HttpStatus.OK).hasSize(1);
+		assertThat(responses).filteredOn(r -> r.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS)
+				.hasSize(THREADS - 1)
+				.allSatisfy(r -> assertThat(Long.parseLong(r.getHeaders().getFirst(HttpHeaders.RETRY_AFTER))).isBetween(1L, 60L));
+		assertThat(tokenCount(user)).isEqualTo(2);
+		assertThat(mailDispatcher.getEnqueuedCount() - enqueuedBefore).isEqualTo(1);
+	}
+
+	private List<ResponseEntity<String>> resendInParallel(String email) throws Exception {
+		ResendOtpRequest body = new ResendOtpRequest();
+		body.setEmail(email);
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<ResponseEntity<String>>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					return rest.postForEntity("/auth/resend-otp", body, String.class);
+				}));
+			}
+			start.countDown();
+
+			List<ResponseEntity<String>> responses = new ArrayList<>();
+			for (Future<ResponseEntity<String>> f : futures) responses.add(f.get());
+			return responses;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private int tokenCount(User user) {
+		return jdbc.queryForObject("select count(*) from otp_tokens where user_id = :id", Map.of("id", user.getId()), Integer.class);
+	}
+
+	private void staleToken(User user) {
+		OtpToken token = otpService.newSignupToken(user, "123456");
+		token.setLastSentAt(token.getLastSentAt().minus(Duration.ofMinutes(2)));
+		otpStore.insert(token);
+	}
+}
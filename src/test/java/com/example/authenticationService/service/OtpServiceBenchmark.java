@@ -0,0 +1,27 @@
+package com.example.authenticationService.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Lives beside OtpService because generateNumericCode() is package-private
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OtpServiceBenchmark {
+
+    private OtpService otpService;
+
+    @Setup
+    public void setup() {
+        otpService = new OtpService(null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public String generateNumericCode() {
+        return otpService.generateNumericCode();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.TestFixtures;
+import com.example.authenticationService.model.OtpToken;
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.repository.OtpStore;
+import com.example.authenticationService.repository.OtpTokenRepository;
+import com.example.authenticationService.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class OtpVerificationConcurrencyTests {
+
+	private static final int THREADS = 24;
+	private static final String CODE = "123456";
+
+	@Autowired
+	private OtpService otpService;
+
+	@Autowired
+	private OtpStore otpStore;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OtpTokenRepository otpTokenRepository;
+
+	@MockitoBean
+	private JavaMailSender mailSender;
+
+	@Test
+	void parallelWrongGuessesNeverExceedTheAttemptLimit() throws Exception {
+		User user = pendingUser("guesser");
+		OtpToken token = tokenFor(user);
+
+		List<String> outcomes = verifyInParallel(user, "000000");
+
+		assertThat(outcomes).filteredOn("Invalid code."::equals).hasSize(OtpService.MAX_ATTEMPTS);
+		assertThat(outcomes).filteredOn("Too many attempts. Request a new code."::equals)
+				.hasSize(THREADS - OtpService.MAX_ATTEMPTS);
+		assertThat(otpTokenRepository.findById(token.getId()).orElseThrow().getAttempts())
+				.isEqualTo(OtpService.MAX_ATTEMPTS);
+		assertThat(userRepository.findById(user.getId()).orElseThrow().getStatus()).isEqualTo(User.UserStatus.PENDING);
+	}
+
+	@Test
+	void parallelCorrectCodesActivateExactlyOnce() throws Exception {
+		User user = pendingUser("verifier");
+		OtpToken token = tokenFor(user);
+
+		List<String> outcomes = verifyInParallel(user, CODE);
+
+		assertThat(outcomes).filteredOn("OK"::equals).hasSize(1);
+		assertThat(otpTokenRepository.findById(token.getId()).orElseThrow().getConsumedAt()).isNotNull();
+
+		User activated = userRepository.findById(user.getId()).orElseThrow();
+		assertThat(activated.getStatus()).isEqualTo(User.UserStatus.ACTIVE);
+		assertThat(activated.getEmailVerifiedAt()).isNotNull();
+	}
+
+	private List<String> verifyInParallel(User user, String code) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<String>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					try {
+						otpService.verifySignupOtp(user, code);
+						return "OK";
+					} catch (IllegalArgumentException | IllegalStateException e) {
+						return e.getMessage();
+					}
+				}));
+			}
+			start.countDown();
+
+			List<String> outcomes = new ArrayList<>();
+			for (Future<String> f : futures) {
+				try {
+					outcomes.add(f.get());
+				} catch (ExecutionException e) {
+					throw new AssertionError("Unexpected failure", e.getCause());
+				}
+			}
+			return outcomes;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private User pendingUser(String username) {
+		return userRepository.save(TestFixtures.user(username, User.UserStatus.PENDING));
+	}
+
+	private OtpToken tokenFor(User user) {
+		return otpStore.insert(otpService.newSignupToken(user, CODE));
+	}
+}
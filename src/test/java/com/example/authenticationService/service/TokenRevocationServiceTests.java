@@ -0,0 +1,61 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.model.RevokedToken;
+import com.example.authenticationService.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTests {
+
+	private final RevokedTokenRepository repo = mock(RevokedTokenRepository.class);
+	private final TokenRevocationService service = new TokenRevocationService(repo,
+			Duration.ofMinutes(15), 1_000, 0.001, Duration.ofSeconds(5), 100);
+
+	@Test
+	void localRevocationNeverQueriesTheDatabase() {
+		Date exp = Date.from(Instant.now().plus(Duration.ofMinutes(10)));
+		service.revoke("jti-local", exp);
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(service.isRevoked("jti-local", exp)).isTrue();
+		}
+		verify(repo, never()).existsById(any());
+		assertThat(service.getConfirmedHitCount()).isEqualTo(5);
+	}
+
+	@Test
+	void syncedRevocationIsConfirmedOnceThenServedFromMemory() {
+		Instant exp = Instant.now().plus(Duration.ofMinutes(10));
+		// Revoked on Another Node: Only the Bloom Filter Knows About it Here
+		when(repo.findByRevokedAtAfter(any())).thenReturn(List.of(new RevokedToken("jti-remote", exp, Instant.now())));
+		when(repo.existsById("jti-remote")).thenReturn(true);
+		service.sync();
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(service.isRevoked("jti-remote", Date.from(exp))).isTrue();
+		}
+		verify(repo, times(1)).existsById("jti-remote");
+		assertThat(service.getConfirmedRevokedCount()).isEqualTo(1);
+		assertThat(service.getConfirmedCacheSize()).isEqualTo(1);
+	}
+
+	@Test
+	void expiredTokensAreNotRemembered() {
+		Date past = Date.from(Instant.now().minusSeconds(1));
+		service.revoke("jti-expired", past);
+
+		assertThat(service.getConfirmedCacheSize()).isZero();
+	}
+}
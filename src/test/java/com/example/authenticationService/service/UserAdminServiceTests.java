@@ -0,0 +1,144 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.TestFixtures;
+import com.example.authenticationService.dto.AdminUserView;
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.repository.UserRepository;
+import com.example.authenticationService.service.UserAdminService.ExportFormat;
+import com.example.authenticationService.service.UserAdminService.Filter;
+import com.example.authenticationService.service.UserAdminService.Page;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every test owns a username prefix, so rows left by other test classes never match its `q`
+@SpringBootTest
+class UserAdminServiceTests {
+
+	@Autowired
+	private UserAdminService userAdminService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ObjectMapper json;
+
+	@MockitoBean
+	private JavaMailSender mailSender;
+
+	@Test
+	void keysetPagesCoverEveryRowOnceAcrossBoundaries() {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) ids.add(save("page-" + i, User.UserStatus.ACTIVE, null).getId());
+
+		Filter filter = new Filter(null, null, null, "page-");
+		List<Long> seen = new ArrayList<>();
+		List<Integer> sizes = new ArrayList<>();
+		long after = 0;
+		for (Page page = userAdminService.list(filter, after, 2); ; page = userAdminService.list(filter, after, 2)) {
+			page.items().forEach(v -> seen.add(v.id()));
+			sizes.add(page.items().size());
+			if (page.nextAfter() == null) break;
+			assertThat(page.nextAfter()).isEqualTo(page.items().get(page.items().size() - 1).id());
+			after = page.nextAfter();
+		}
+
+		assertThat(sizes).containsExactly(2, 2, 1);
+		assertThat(seen).containsExactlyElementsOf(ids);
+
+		// A Full Last Page Still Hands Out a Cursor; the Page After it is Empty and Ends the Walk
+		Page fourth = userAdminService.list(filter, ids.get(1), 2);
+		assertThat(fourth.nextAfter()).isEqualTo(ids.get(3));
+		Page tail = userAdminService.list(filter, ids.get(4), 2);
+		assertThat(tail.items()).isEmpty();
+		assertThat(tail.nextAfter()).isNull();
+	}
+
+	@Test
+	void nullFiltersMatchAnythingAndSetOnesNarrow() {
+		Instant old = Instant.now().minus(30, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+		Instant recent = Instant.now().minus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+		save("filter-pending", User.UserStatus.PENDING, null);
+		save("filter-old", User.UserStatus.ACTIVE, old);
+		save("filter-recent", User.UserStatus.ACTIVE, recent);
+		save("filter-suspended", User.UserStatus.SUSPENDED, recent);
+
+		assertThat(usernames(new Filter(null, null, null, "filter-")))
+				.containsExactly("filter-pending", "filter-old", "filter-recent", "filter-suspended");
+		assertThat(usernames(new Filter(User.UserStatus.ACTIVE, null, null, "filter-")))
+				.containsExactly("filter-old", "filter-recent");
+		assertThat(usernames(new Filter(null, true, null, "filter-")))
+				.containsExactly("filter-old", "filter-recent", "filter-suspended");
+		assertThat(usernames(new Filter(null, false, null, "filter-")))
+				.containsExactly("filter-pending");
+		assertThat(usernames(new Filter(null, null, recent.minus(1, ChronoUnit.HOURS), "filter-")))
+				.containsExactly("filter-recent", "filter-suspended");
+		assertThat(usernames(new Filter(User.UserStatus.ACTIVE, true, recent, "filter-")))
+				.containsExactly("filter-recent");
+	}
+
+	@Test
+	void wildcardsInQueryAreLiterals() {
+		save("wild_under", User.UserStatus.ACTIVE, null);
+		save("wildXunder", User.UserStatus.ACTIVE, null);
+		save("wild%pct", User.UserStatus.ACTIVE, null);
+		save("wildYpct", User.UserStatus.ACTIVE, null);
+		save("wild!bang", User.UserStatus.ACTIVE, null);
+
+		assertThat(usernames(new Filter(null, null, null, "wild_"))).containsExactly("wild_under");
+		assertThat(usernames(new Filter(null, null, null, "wild%"))).containsExactly("wild%pct");
+		assertThat(usernames(new Filter(null, null, null, "wild!"))).containsExactly("wild!bang");
+		assertThat(usernames(new Filter(null, null, null, "wild"))).hasSize(5);
+		// Prefix Also Applies to the Email Column
+		assertThat(usernames(new Filter(null, null, null, "wild_under@"))).containsExactly("wild_under");
+	}
+
+	@Test
+	void exportStreamsTheFilteredRowsAsNdjsonAndCsv() throws Exception {
+		save("export-a", User.UserStatus.ACTIVE, null);
+		User quoted = save("export-b", User.UserStatus.ACTIVE, null);
+		quoted.setLastName("Smith, \"Jr\"");
+		userRepository.save(quoted);
+		save("export-c", User.UserStatus.PENDING, null);
+		Filter active = new Filter(User.UserStatus.ACTIVE, null, null, "export-");
+
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		assertThat(userAdminService.export(active, ExportFormat.NDJSON, ndjson)).isEqualTo(2);
+		List<AdminUserView> rows = new ArrayList<>();
+		for (String line : ndjson.toString(StandardCharsets.UTF_8).split("\n")) {
+			rows.add(json.readValue(line, AdminUserView.class));
+		}
+		assertThat(rows).extracting(AdminUserView::username).containsExactly("export-a", "export-b");
+		assertThat(rows.get(1).lastName()).isEqualTo("Smith, \"Jr\"");
+
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		assertThat(userAdminService.export(active, ExportFormat.CSV, csv)).isEqualTo(2);
+		String[] lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(lines).hasSize(3);
+		assertThat(lines[0]).isEqualTo("id,username,email,firstName,lastName,status,emailVerifiedAt");
+		assertThat(lines[2]).isEqualTo(quoted.getId() + ",export-b,export-b@example.com,Test,\"Smith, \"\"Jr\"\"\",ACTIVE,");
+	}
+
+	private List<String> usernames(Filter filter) {
+		return userAdminService.list(filter, 0, 100).items().stream().map(AdminUserView::username).toList();
+	}
+
+	private User save(String username, User.UserStatus status, Instant verifiedAt) {
+		User user = TestFixtures.user(username, status);
+		user.setEmailVerifiedAt(verifiedAt);
+		return userRepository.save(user);
+	}
+}
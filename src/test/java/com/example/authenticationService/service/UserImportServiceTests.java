@@ -0,0 +1,262 @@
+package com.example.authenticationService.service;
+
+import com.example.authenticationService.TestFixtures;
+import com.example.authenticationService.model.User;
+import com.example.authenticationService.repository.UserRepository;
+import com.example.authenticationService.service.UserImportService.Format;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mockingDetails;
+
+// Chunks of three and a mail queue of two, so a handful of rows already spans several batches
+// and outgrows the queue
+@SpringBootTest
+@TestPropertySource(properties = {"admin.import.chunk-size=3", "mail.dispatch.queue-capacity=2", "admin.import.mail-wait=PT1S"})
+class UserImportServiceTests {
+
+	private static final Pattern CODE = Pattern.compile("code is: (\\d{6})");
+
+	@Autowired
+	private UserImportService userImportService;
+
+	@Autowired
+	private OtpService otpService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ObjectMapper json;
+
+	@Autowired
+	private MailDispatcher mailDispatcher;
+
+	@MockitoSpyBean
+	private NamedParameterJdbcTemplate jdbc;
+
+	@MockitoBean
+	private JavaMailSender mailSender;
+
+	@Test
+	void csvFieldsHonourQuotesAndEscapes() throws Exception {
+		assertThat(UserImportService.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","))
+				.containsExactly("a", "b, c", "say \"hi\"", "");
+		assertThatThrownBy(() -> UserImportService.parseCsvLine("a,\"open"))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		List<JsonNode> out = importUsers(Format.CSV, false,
+				"username,email,firstName,lastName,password",
+				"csv-quoted,csv-quoted@example.com,Pat,\"O\"\"Brien, Jr\",password-1");
+
+		assertThat(summary(out)).isEqualTo(Map.of("imported", 1, "failed", 0, "lines", 2));
+		assertThat(userRepository.findByUsername("csv-quoted").orElseThrow().getLastName()).isEqualTo("O\"Brien, Jr");
+	}
+
+	@Test
+	void duplicatesAndBadRowsAreStreamedBackPerLine() throws Exception {
+		userRepository.save(TestFixtures.user("dup-existing", User.UserStatus.ACTIVE));
+
+		List<JsonNode> out = importUsers(Format.NDJSON, false,
+				row("dup-a", "dup-a@example.com"),              // 1: imported (first chunk)
+				row("dup-existing", "dup-new@example.com"),     // 2: already in the table
+				row("dup-a", "dup-a2@example.com"),             // 3: repeats line 1 within the chunk
+				row("dup-b", "dup-a@example.com"),              // 4: email taken by the previous chunk
+				"{not json",                                    // 5
+				"",                                             // 6: blank, skipped
+				row("dup-c", "not-an-email"),                   // 7
+				row("dup-d", "dup-d@example.com"));             // 8: imported (last chunk)
+
+		assertThat(errors(out)).extracting(e -> e.path("line").asInt(), e -> e.path("username").asText(null), e -> e.path("error").asText())
+				.containsExactlyInAnyOrder(
+						tuple(2, "dup-existing", "Username Already Exists"),
+						tuple(3, "dup-a", "Username Already Exists"),
+						tuple(4, "dup-b", "Email Already Exists"),
+						tuple(5, null, "Malformed Row"),
+						tuple(7, "dup-c", "Invalid Email Format"));
+		assertThat(summary(out)).isEqualTo(Map.of("imported", 2, "failed", 5, "lines", 8));
+		assertThat(userRepository.findByUsername("dup-a").orElseThrow().getEmail()).isEqualTo("dup-a@example.com");
+		assertThat(userRepository.findByUsername("dup-d")).isPresent();
+		assertThat(userRepository.findByUsername("dup-b")).isEmpty();
+	}
+
+	@Test
+	void constraintViolationInABatchFallsBackToPerRowInserts() throws Exception {
+		userRepository.save(TestFixtures.user("race-taken", User.UserStatus.ACTIVE));
+		// Pretend the Conflicting Row Appeared Between the Duplicate Check and the Insert
+		doNothing().when(jdbc).query(startsWith("select username, email from users"), anyMap(), any(RowCallbackHandler.class));
+
+		List<JsonNode> out = importUsers(Format.NDJSON, false,
+				row("race-1", "race-1@example.com"),
+				row("race-taken", "race-other@example.com"),
+				row("race-2", "race-2@example.com"));
+
+		assertThat(errors(out)).extracting(e -> e.path("line").asInt(), e -> e.path("error").asText())
+				.containsExactly(tuple(2, "Username or Email Already Exists"));
+		assertThat(summary(out)).isEqualTo(Map.of("imported", 2, "failed", 1, "lines", 3));
+		assertThat(userRepository.findByUsername("race-1")).isPresent();
+		assertThat(userRepository.findByUsername("race-2")).isPresent();
+		assertThat(userRepository.findByUsername("race-taken").orElseThrow().getEmail()).isEqualTo("race-taken@example.com");
+	}
+
+	@Test
+	void pendingStatusWithoutCodesIsRejected() throws Exception {
+		List<JsonNode> out = importUsers(Format.NDJSON, false,
+				row("stuck-pending", "stuck-pending@example.com").replace("}", ",\"status\":\"PENDING\"}"));
+
+		assertThat(errors(out)).extracting(e -> e.path("error").asText())
+				.containsExactly("Status PENDING Requires sendOtp=true");
+		assertThat(summary(out)).isEqualTo(Map.of("imported", 0, "failed", 1, "lines", 1));
+		assertThat(userRepository.findByUsername("stuck-pending")).isEmpty();
+	}
+
+	@Test
+	void sendOtpBatchesWorkingCodesForPendingRows() throws Exception {
+		List<JsonNode> out = importUsers(Format.NDJSON, true,
+				row("otp-1", "otp-1@example.com"),
+				row("otp-2", "otp-2@example.com"),
+				row("otp-3", "otp-3@example.com"),
+				row("otp-active", "otp-active@example.com").replace("}", ",\"status\":\"ACTIVE\"}"));
+		assertThat(summary(out)).isEqualTo(Map.of("imported", 4, "failed", 0, "lines", 4, "otpQueued", 3, "otpDropped", 0));
+
+		Integer tokens = jdbc.queryForObject("select count(*) from otp_tokens t join users u on u.id = t.user_id"
+				+ " where u.username like 'otp-%'", Map.of(), Integer.class);
+		assertThat(tokens).isEqualTo(3);
+
+		// Each Mailed Code Verifies Against its Batch-Inserted Token
+		List<SimpleMailMessage> mails = sentMail(3);
+		assertThat(mails).extracting(m -> m.getTo()[0])
+				.containsExactlyInAnyOrder("otp-1@example.com", "otp-2@example.com", "otp-3@example.com");
+		for (SimpleMailMessage mail : mails) {
+			Matcher m = CODE.matcher(mail.getText());
+			assertThat(m.find()).isTrue();
+			User user = userRepository.findByEmail(mail.getTo()[0]).orElseThrow();
+			otpService.verifySignupOtp(user, m.group(1));
+			assertThat(userRepository.findById(user.getId()).orElseThrow().getStatus()).isEqualTo(User.UserStatus.ACTIVE);
+		}
+	}
+
+	@Test
+	void importLargerThanTheMailQueueWaitsForRoom() throws Exception {
+		doAnswer(call -> {
+			Thread.sleep(20);
+			return null;
+		}).when(mailSender).send(any(SimpleMailMessage[].class));
+
+		List<JsonNode> out = importUsers(Format.NDJSON, true, rows("queued-", 10));
+
+		assertThat(summary(out)).isEqualTo(Map.of("imported", 10, "failed", 0, "lines", 10, "otpQueued", 10, "otpDropped", 0));
+		assertThat(sentMail(10)).hasSize(10);
+	}
+
+	@Test
+	void codesThatFindNoRoomAreReportedPerRow() throws Exception {
+		CountDownLatch smtpDown = new CountDownLatch(1);
+		doAnswer(call -> {
+			smtpDown.await();
+			return null;
+		}).when(mailSender).send(any(SimpleMailMessage[].class));
+
+		try {
+			List<JsonNode> out = importUsers(Format.NDJSON, true, rows("stalled-", 10));
+
+			Map<String, Object> summary = summary(out);
+			assertThat(summary).containsEntry("imported", 10).containsEntry("failed", 0);
+			int dropped = (Integer) summary.get("otpDropped");
+			assertThat(dropped).isPositive();
+			assertThat((Integer) summary.get("otpQueued") + dropped).isEqualTo(10);
+			assertThat(errors(out)).hasSize(dropped).allSatisfy(w -> {
+				assertThat(w.path("username").asText()).startsWith("stalled-");
+				assertThat(w.path("warning").asText()).isEqualTo("Code Not Sent (Mail Queue Full); Request a Resend");
+			});
+		} finally {
+			smtpDown.countDown();
+			awaitIdleDispatcher();
+		}
+	}
+
+	private List<JsonNode> importUsers(Format format, boolean sendOtp, String... lines) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		userImportService.importUsers(new BufferedReader(new StringReader(String.join("\n", lines))), format, sendOtp, out);
+
+		List<JsonNode> result = new ArrayList<>();
+		for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+			result.add(json.readTree(line));
+		}
+		return result;
+	}
+
+	// Everything but the Last Line
+	private static List<JsonNode> errors(List<JsonNode> out) {
+		return out.subList(0, out.size() - 1);
+	}
+
+	private Map<String, Object> summary(List<JsonNode> out) {
+		return json.convertValue(out.get(out.size() - 1), Map.class);
+	}
+
+	// The Dispatcher Sends Asynchronously, Possibly Split Across Batches
+	private List<SimpleMailMessage> sentMail(int expected) throws InterruptedException {
+		List<SimpleMailMessage> mails = new ArrayList<>();
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (mails.size() < expected && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			mails.clear();
+			for (Invocation call : mockingDetails(mailSender).getInvocations()) {
+				if (call.getRawArguments()[0] instanceof SimpleMailMessage[] batch) mails.addAll(Arrays.asList(batch));
+			}
+		}
+		return mails;
+	}
+
+	// Later Tests Count Sends on the Mock, so Nothing From This One May Still be in Flight
+	private void awaitIdleDispatcher() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (mailDispatcher.getEnqueuedCount() > mailDispatcher.getSentCount() + mailDispatcher.getFailedCount()
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+	}
+
+	private String[] rows(String prefix, int count) throws Exception {
+		String[] lines = new String[count];
+		for (int i = 0; i < count; i++) lines[i] = row(prefix + i, prefix + i + "@example.com");
+		return lines;
+	}
+
+	private String row(String username, String email) throws Exception {
+		return json.writeValueAsString(Map.of(
+				"username", username, "email", email, "firstName", "Bulk", "lastName", "Import", "password", "password-123"));
+	}
+}